@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+# Runs the suite as K shards in K forked JVMs on this machine, then merges their results.
+# Same layout as a multi-container run: each shard only needs -Dshard.index/-Dshard.count and
+# a shared target/shards directory for its result file.
+#
+# Usage: scripts/run-shards.sh [K] [extra Maven args, e.g. -Dstorefront=local]
+set -uo pipefail
+
+SHARDS="${1:-2}"
+shift || true
+cd "$(dirname "$0")/.." || exit 1
+
+mvn -B -q test-compile "$@" || exit 1
+rm -rf target/shards
+
+pids=()
+for ((i = 0; i < SHARDS; i++)); do
+    echo "Starting shard ${i} of ${SHARDS} (log: target/shard-${i}.log)"
+    mvn -B surefire:test "$@" \
+        -Dshard.index="${i}" -Dshard.count="${SHARDS}" \
+        -Dsurefire.reportsDir="target/surefire-reports/shard-${i}" \
+        -Dmetrics.dir="target/step-metrics/shard-${i}" \
+        > "target/shard-${i}.log" 2>&1 &
+    pids+=("$!")
+done
+
+status=0
+for pid in "${pids[@]}"; do
+    wait "${pid}" || status=1
+done
+
+mvn -B -q -Pshard-merge exec:java@merge-shards "$@" || status=1
+exit "${status}"
@@ -0,0 +1,19 @@
+package benchmarks;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+/**
+ * Logback appender that formats every event and throws the result away.
+ * Lets the logging benchmark pay the full formatting cost without console I/O skewing the numbers.
+ */
+public class DiscardingAppender extends AppenderBase<ILoggingEvent> {
+
+    // Written so the JIT can't drop the formatting as dead code
+    private volatile int lastLength;
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        lastLength = event.getFormattedMessage().length();
+    }
+}
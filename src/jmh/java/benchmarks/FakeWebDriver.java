@@ -0,0 +1,258 @@
+package benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-process WebDriver stand-in for benchmarks: no browser, no network.
+ * It serves a fixed list of item rows to both the legacy findElements/getText path and the RowIndex script path.
+ * Each command can optionally burn a fixed amount of CPU time to model a driver round trip,
+ * so the benchmarks show what a change in the NUMBER of commands is worth.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor {
+
+    private final List<FakeWebElement> rows = new ArrayList<>();
+    private final long roundTripNanos;
+    private long commandCount;
+
+    /**
+     * @param rowCount          Number of item rows the fake page contains.
+     * @param roundTripMicros   Simulated cost of one driver command (0 = free).
+     */
+    public FakeWebDriver(int rowCount, long roundTripMicros) {
+        this.roundTripNanos = roundTripMicros * 1000;
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new FakeWebElement("Product " + i, "$" + (10 + i) + ".99"));
+        }
+    }
+
+    public long getCommandCount() {
+        return commandCount;
+    }
+
+    /**
+     * Every driver-level command goes through here: counts it and simulates the round trip.
+     */
+    private void command() {
+        commandCount++;
+        if (roundTripNanos > 0) {
+            long end = System.nanoTime() + roundTripNanos;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        command();
+        // RowIndex script: return one map per row, the same shape a real browser would return
+        if (script.contains("querySelectorAll(arguments[0])")) {
+            List<Map<String, Object>> result = new ArrayList<>(rows.size());
+            for (FakeWebElement row : rows) {
+                Map<String, Object> values = new HashMap<>();
+                values.put("name", row.name);
+                values.put("price", row.price);
+                values.put("buttonText", "Add to cart");
+                values.put("button", row);
+                result.add(values);
+            }
+            return result;
+        }
+        return null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        command();
+        return null;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        command();
+        return new ArrayList<>(rows);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        command();
+        return rows.get(0);
+    }
+
+    @Override
+    public void get(String url) {
+        command();
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        command();
+        return "http://localhost/inventory.html";
+    }
+
+    @Override
+    public String getTitle() {
+        command();
+        return "Swag Labs";
+    }
+
+    @Override
+    public String getPageSource() {
+        command();
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Collections.singleton("fake");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "fake";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("Not supported by FakeWebDriver");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("Not supported by FakeWebDriver");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("Not supported by FakeWebDriver");
+    }
+
+    /**
+     * A row element. findElement on a row returns a child element carrying the row's name.
+     */
+    private final class FakeWebElement implements WebElement {
+
+        private final String name;
+        private final String price;
+
+        private FakeWebElement(String name, String price) {
+            this.name = name;
+            this.price = price;
+        }
+
+        @Override
+        public void click() {
+            command();
+        }
+
+        @Override
+        public void submit() {
+            command();
+        }
+
+        @Override
+        public void sendKeys(CharSequence... keysToSend) {
+            command();
+        }
+
+        @Override
+        public void clear() {
+            command();
+        }
+
+        @Override
+        public String getTagName() {
+            command();
+            return "div";
+        }
+
+        @Override
+        public String getAttribute(String name) {
+            command();
+            return null;
+        }
+
+        @Override
+        public boolean isSelected() {
+            command();
+            return false;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            command();
+            return true;
+        }
+
+        @Override
+        public String getText() {
+            command();
+            return name;
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            command();
+            return Collections.singletonList(new FakeWebElement(name, price));
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            command();
+            return new FakeWebElement(name, price);
+        }
+
+        @Override
+        public boolean isDisplayed() {
+            command();
+            return true;
+        }
+
+        @Override
+        public Point getLocation() {
+            return new Point(0, 0);
+        }
+
+        @Override
+        public Dimension getSize() {
+            return new Dimension(100, 20);
+        }
+
+        @Override
+        public Rectangle getRect() {
+            return new Rectangle(getLocation(), getSize());
+        }
+
+        @Override
+        public String getCssValue(String propertyName) {
+            return "";
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            throw new UnsupportedOperationException("Not supported by FakeWebDriver");
+        }
+    }
+}
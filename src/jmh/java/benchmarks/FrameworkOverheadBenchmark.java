@@ -0,0 +1,140 @@
+package benchmarks;
+
+import core.DriverManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.MessageFormatter;
+import pages.CartPage;
+import pages.InventoryPage;
+import pages.LoginPage;
+import pages.Pages;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the framework's own overhead against an in-process FakeWebDriver (no browser, no network).
+ * Run with: mvn -B -Pjmh verify -DskipTests   (results in target/jmh-result.json)
+ * <p>
+ * Use -Djmh.args="..." to pass JMH options, e.g. -Djmh.args="-p rows=6 -p roundTripMicros=200 RowLookup".
+ * roundTripMicros simulates the cost of one driver command, which shows what saving commands is worth.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameworkOverheadBenchmark {
+
+    private static final Logger hotPathLog = LoggerFactory.getLogger("benchmarks.hotpath");
+
+    @Param({"6", "50"})
+    public int rows;
+
+    @Param({"0"})
+    public long roundTripMicros;
+
+    private final By locator = By.id("login-button");
+    private final By rowLocator = By.cssSelector("div.cart_item");
+    private final By nameLocator = By.cssSelector("div.inventory_item_name");
+
+    private FakeWebDriver driver;
+    private InventoryPage inventoryPage;
+    private CartPage cartPage;
+    private String lastProduct;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        driver = new FakeWebDriver(rows, roundTripMicros);
+        DriverManager.setDriver(driver); // Same ThreadLocal the page objects read from
+        inventoryPage = new InventoryPage();
+        cartPage = new CartPage();
+        lastProduct = "Product " + (rows - 1); // Worst case for a linear scan
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DriverManager.quitDriver();
+    }
+
+    // --- Page object construction ---
+
+    @Benchmark
+    public LoginPage basePageConstruction() {
+        return new LoginPage();
+    }
+
+    @Benchmark
+    public LoginPage registryPageLookup() {
+        return Pages.get(LoginPage.class); // What transitions do now: the session's instance, created once
+    }
+
+    @Benchmark
+    public WebDriverWait webDriverWaitConstruction() {
+        return new WebDriverWait(driver, Duration.ofSeconds(10)); // What every BasePage used to build
+    }
+
+    // --- ThreadLocal access ---
+
+    @Benchmark
+    public WebDriver driverManagerGetDriver() {
+        return DriverManager.getDriver();
+    }
+
+    // --- Logging ---
+
+    @Benchmark
+    public String slf4jParameterFormatting() {
+        return MessageFormatter.format("Clicked element located by: {}", locator).getMessage();
+    }
+
+    @Benchmark
+    public void slf4jInfoHotPath() {
+        hotPathLog.info("Clicked element located by: {}", locator);
+    }
+
+    // --- Row lookups ---
+
+    /**
+     * The pre-RowIndex lookup: findElements, then findElement + getText for each row.
+     */
+    @Benchmark
+    public WebElement legacyRowLookup() {
+        for (WebElement item : driver.findElements(rowLocator)) {
+            WebElement nameElement = item.findElement(nameLocator);
+            if (lastProduct.equals(nameElement.getText())) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public boolean rowIndexLookup() {
+        return cartPage.isProductDisplayed(lastProduct);
+    }
+
+    @Benchmark
+    public List<String> displayedProductNames() {
+        return inventoryPage.getDisplayedProductNames();
+    }
+}
@@ -0,0 +1,109 @@
+package core;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolling, per-thread record of the current test's recent page actions, plus the URL and title reached by each
+ * page transition. Recording an action costs no WebDriver round trip; recording a page costs one tiny script call
+ * (URL and title only; the DOM itself is captured once, at failure, by FailureArtifacts).
+ * The trail is only read when a test fails (see FailureArtifacts), so passing tests pay next to nothing.
+ * Size: "artifacts.trail.size" entries (default 50).
+ */
+public class ActionTrail {
+
+    private static final Logger log = LoggerFactory.getLogger(ActionTrail.class);
+
+    private static final int MAX_ACTIONS = Integer.getInteger("artifacts.trail.size", 50);
+
+    private static final String PAGE_SCRIPT = "return location.href + ' | ' + document.title;";
+
+    // Trail of the test running on the current thread, null when no test is running
+    private static final ThreadLocal<Trail> currentTrail = new ThreadLocal<>();
+
+    /**
+     * Starts a new, empty trail for the test about to run on the current thread.
+     */
+    public static void begin() {
+        currentTrail.set(new Trail());
+    }
+
+    /**
+     * Drops the current thread's trail.
+     */
+    public static void end() {
+        currentTrail.remove();
+    }
+
+    /**
+     * Records an action (no-op outside a test).
+     *
+     * @param page   Page object class.
+     * @param action Action name (e.g. "click").
+     * @param target Locator or description of the target.
+     * @param nanos  Duration of the action.
+     */
+    public static void action(Class<?> page, String action, Object target, long nanos) {
+        Trail trail = currentTrail.get();
+        if (trail == null) {
+            return;
+        }
+        trail.add(String.format("+%6d ms  %-8.1f ms  %s %s %s",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - trail.startNanos), nanos / 1e6,
+                page.getSimpleName(), action, target));
+    }
+
+    /**
+     * Records the URL and title the browser is on (no-op outside a test).
+     *
+     * @param driver The current thread's driver.
+     * @param label  What just happened (e.g. "after transition to CartPage").
+     */
+    public static void page(WebDriver driver, String label) {
+        Trail trail = currentTrail.get();
+        if (trail == null || !(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        try {
+            Object page = ((JavascriptExecutor) driver).executeScript(PAGE_SCRIPT);
+            trail.add(String.format("+%6d ms  === %s: %s", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - trail.startNanos), label, page));
+        } catch (RuntimeException e) {
+            log.debug("Could not record current page ({})", label, e);
+        }
+    }
+
+    /**
+     * @return The recorded actions of the current thread's test, oldest first, one per line.
+     */
+    public static String actions() {
+        Trail trail = currentTrail.get();
+        return trail == null ? "" : String.join("\n", trail.actions) + "\n";
+    }
+
+    /**
+     * Buffer of one test. Only touched by the test's own thread.
+     */
+    private static final class Trail {
+
+        private final long startNanos = System.nanoTime();
+        private final Deque<String> actions = new ArrayDeque<>();
+
+        private void add(String entry) {
+            actions.addLast(entry);
+            if (actions.size() > MAX_ACTIONS) {
+                actions.removeFirst();
+            }
+        }
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private ActionTrail() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
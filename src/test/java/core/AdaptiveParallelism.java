@@ -0,0 +1,152 @@
+package core;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * JUnit Platform parallelism strategy sized for browser tests.
+ * The worker count follows the available cores, but is capped by how many browsers fit in available memory.
+ * Available memory is MemAvailable from /proc/meminfo (free memory plus reclaimable page cache); where that file does
+ * not exist, the total physical memory is used instead. The JVM's "free" memory leaves out the page cache and would
+ * serialize a warm Linux host down to a single worker.
+ * The same count sizes the DriverPool, so each worker thread ends up with its own driver.
+ * Registered in the surefire configuration in pom.xml (junit.jupiter.execution.parallel.config.custom.class).
+ * <p>
+ * System properties:
+ * <ul>
+ *     <li>parallel.enabled: set by the surefire configuration from the Maven property of the same name; without it
+ *     (e.g. in an IDE) the JUnit parameter junit.jupiter.execution.parallel.enabled decides (default false)</li>
+ *     <li>parallel.workers: fixed worker count, skips the calculation</li>
+ *     <li>parallel.memoryPerBrowserMb: memory budget per browser session (default 512)</li>
+ * </ul>
+ */
+public class AdaptiveParallelism implements ParallelExecutionConfigurationStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveParallelism.class);
+
+    private static final long DEFAULT_MEMORY_PER_BROWSER_MB = 512;
+    private static final Path MEMINFO = Paths.get("/proc/meminfo");
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int workers = workerCount();
+        log.info("JUnit parallel execution configured with {} worker(s)", workers);
+        return new ParallelExecutionConfiguration() {
+            @Override
+            public int getParallelism() {
+                return workers;
+            }
+
+            @Override
+            public int getMinimumRunnable() {
+                return workers;
+            }
+
+            // Never grow beyond the worker count: every extra thread would need its own browser
+            @Override
+            public int getMaxPoolSize() {
+                return workers;
+            }
+
+            @Override
+            public int getCorePoolSize() {
+                return workers;
+            }
+
+            @Override
+            public int getKeepAliveSeconds() {
+                return KEEP_ALIVE_SECONDS;
+            }
+
+            // When saturated, keep going with the existing workers instead of rejecting work
+            @Override
+            public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+                return pool -> true;
+            }
+        };
+    }
+
+    /**
+     * @return True if tests run in parallel (see parallel.enabled above).
+     */
+    public static boolean isEnabled() {
+        String enabled = System.getProperty("parallel.enabled", System.getProperty("junit.jupiter.execution.parallel.enabled", "false"));
+        return Boolean.parseBoolean(enabled.trim());
+    }
+
+    /**
+     * Returns the number of parallel workers for this machine.
+     *
+     * @return Worker count, at least 1.
+     */
+    public static int workerCount() {
+        Integer fixed = Integer.getInteger("parallel.workers");
+        if (fixed != null) {
+            return Math.max(1, fixed);
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        long perBrowserMb = Long.getLong("parallel.memoryPerBrowserMb", DEFAULT_MEMORY_PER_BROWSER_MB);
+        long availableMb = availableMemoryMb();
+        int byMemory = availableMb > 0 ? (int) Math.min(Integer.MAX_VALUE, availableMb / perBrowserMb) : cores;
+        int workers = Math.max(1, Math.min(cores, byMemory));
+        log.debug("Worker count: {} (cores: {}, available memory: {} MB, per browser: {} MB)", workers, cores, availableMb, perBrowserMb);
+        return workers;
+    }
+
+    /**
+     * Memory the browsers can use: MemAvailable on Linux, otherwise the total physical memory; -1 if neither is known.
+     */
+    private static long availableMemoryMb() {
+        long memAvailableKb = memAvailableKb();
+        if (memAvailableKb > 0) {
+            return memAvailableKb / 1024;
+        }
+        return totalPhysicalMemoryMb();
+    }
+
+    /**
+     * MemAvailable from /proc/meminfo, in kB, or -1 if the file or the line is missing (non-Linux, kernels before 3.14).
+     */
+    private static long memAvailableKb() {
+        if (!Files.isReadable(MEMINFO)) {
+            return -1;
+        }
+        try {
+            List<String> lines = Files.readAllLines(MEMINFO);
+            for (String line : lines) {
+                if (line.startsWith("MemAvailable:")) { // "MemAvailable:   12345678 kB"
+                    return Long.parseLong(line.substring("MemAvailable:".length()).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.debug("Could not read MemAvailable from {}", MEMINFO, e);
+        }
+        return -1;
+    }
+
+    /**
+     * Total physical memory of the host, or -1 if the JVM does not expose it.
+     */
+    @SuppressWarnings("deprecation") // getTotalPhysicalMemorySize is the Java 11 compatible name
+    private static long totalPhysicalMemoryMb() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getTotalPhysicalMemorySize() / (1024 * 1024);
+        }
+        return -1;
+    }
+}
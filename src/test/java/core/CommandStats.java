@@ -0,0 +1,73 @@
+package core;
+
+import org.openqa.selenium.remote.http.Filter;
+
+import java.util.regex.Pattern;
+
+/**
+ * Latency of the HTTP commands sent by the Java client to the driver (chromedriver, geckodriver, Grid).
+ * Installed as a ClientConfig filter by DriverHttpClient, so it measures whichever HTTP client is in use:
+ * compare runs with -Ddriver.http.client=shared and =default.
+ * Each command is recorded in StepMetrics (page "CommandStats", action "command [client]", target the
+ * command with session and element ids replaced by {id}); the run summary adds those histograms up.
+ */
+public class CommandStats {
+
+    private static final Pattern IDS = Pattern.compile("/(session|element|shadow)/(?!active(?:/|$))[^/]+");
+
+    // Commands sent by the current thread, read by PerformanceBudgets (commands run on the calling thread)
+    private static final ThreadLocal<long[]> threadCommands = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * @param clientName Name of the HTTP client, recorded with every command.
+     * @return A filter that times every command passing through it.
+     */
+    public static Filter filter(String clientName) {
+        String action = "command [" + clientName + "]";
+        return next -> request -> {
+            long start = System.nanoTime();
+            try {
+                return next.execute(request);
+            } finally {
+                long nanos = System.nanoTime() - start;
+                threadCommands.get()[0]++;
+                StepMetrics.record(CommandStats.class, action, request.getMethod() + " " + normalize(request.getUri()), nanos);
+            }
+        };
+    }
+
+    /**
+     * @return Number of commands the current thread has sent so far.
+     */
+    public static long threadCommandCount() {
+        return threadCommands.get()[0];
+    }
+
+    /**
+     * @return The command path with session, element and shadow root ids replaced by {id}.
+     */
+    static String normalize(String uri) {
+        return IDS.matcher(uri).replaceAll("/$1/{id}");
+    }
+
+    /**
+     * @return One-line summary over all commands.
+     */
+    public static String summary() {
+        LatencyHistogram allCommands = new LatencyHistogram();
+        StepMetrics.snapshot().forEach((key, histogram) -> {
+            if (CommandStats.class.getSimpleName().equals(key.getPage())) {
+                allCommands.add(histogram);
+            }
+        });
+        return String.format("%d command(s) via %s client, mean %.2f ms, p50 %.2f ms, p95 %.2f ms, p99 %.2f ms",
+                allCommands.getCount(), DriverHttpClient.clientName(), allCommands.getMeanMicros() / 1000.0,
+                allCommands.getValueAtPercentile(50) / 1000.0, allCommands.getValueAtPercentile(95) / 1000.0,
+                allCommands.getValueAtPercentile(99) / 1000.0);
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private CommandStats() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
@@ -0,0 +1,227 @@
+package core;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the driver binary (chromedriver, geckodriver) for a browser once per JVM and points Selenium at it
+ * through the webdriver.*.driver system property.
+ * <p>
+ * Resolution order:
+ * <ol>
+ *     <li>A webdriver.*.driver system property that already points to an existing file.</li>
+ *     <li>The on-disk cache index ("driver.cache.dir", default ~/.cache/selenium-drivers), keyed by browser and
+ *     installed browser version, so later JVMs skip WebDriverManager entirely.</li>
+ *     <li>Offline mode (-Ddriver.offline=true): a pre-provisioned binary from "driver.binaries.dir" (default drivers/),
+ *     named e.g. chromedriver-118 (browser major version) or plain chromedriver. Never touches the network.</li>
+ *     <li>Online: WebDriverManager, downloading into the same cache directory; the result is added to the index.</li>
+ * </ol>
+ * Each resolution is timed into StepMetrics and logged.
+ */
+public class DriverBinaryResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverBinaryResolver.class);
+
+    private static final boolean OFFLINE = Boolean.getBoolean("driver.offline");
+    private static final Path CACHE_DIR = Paths.get(System.getProperty("driver.cache.dir",
+            Paths.get(System.getProperty("user.home"), ".cache", "selenium-drivers").toString()));
+    private static final Path BINARIES_DIR = Paths.get(System.getProperty("driver.binaries.dir", "drivers"));
+    private static final String INDEX_FILE = "driver-binaries.properties";
+    private static final boolean WINDOWS = System.getProperty("os.name", "").toLowerCase().startsWith("win");
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+)(\\.\\d+)+");
+    private static final String UNKNOWN_VERSION = "unknown";
+
+    // Driver path per browser, resolved at most once per JVM
+    private static final Map<String, Path> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Resolves the driver binary for the browser, once per JVM.
+     * Concurrent callers for the same browser wait for the first resolution instead of repeating it.
+     *
+     * @param browser The browser name ("chrome" or "firefox").
+     * @return Path of the driver binary now configured for Selenium.
+     * @throws IllegalStateException if no binary can be found (e.g. offline mode without a pre-provisioned binary).
+     */
+    public static Path resolve(String browser) {
+        return resolved.computeIfAbsent(browser, DriverBinaryResolver::resolveUncached);
+    }
+
+    private static Path resolveUncached(String browser) {
+        long start = System.nanoTime();
+        String source = "system property";
+        boolean resolvedOk = false;
+        String driverProperty = driverProperty(browser);
+        Path driver = existing(System.getProperty(driverProperty));
+        String browserVersion = null;
+        try {
+            if (driver == null) {
+                browserVersion = detectBrowserVersion(browser);
+                String cacheKey = browser + "." + browserVersion;
+                driver = existing(readIndex().getProperty(cacheKey));
+                source = "disk cache";
+                if (driver == null && OFFLINE) {
+                    driver = findProvisioned(browser, browserVersion);
+                    source = "offline binaries in " + BINARIES_DIR.toAbsolutePath();
+                } else if (driver == null) {
+                    driver = download(browser, browserVersion);
+                    source = "WebDriverManager";
+                }
+                if (!UNKNOWN_VERSION.equals(browserVersion)) {
+                    writeIndex(cacheKey, driver);
+                }
+                System.setProperty(driverProperty, driver.toString());
+            }
+            resolvedOk = true;
+            return driver;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            StepMetrics.record(DriverBinaryResolver.class, "resolve", browser, nanos);
+            if (resolvedOk) {
+                log.info("Resolved {} driver for browser version {} from {} in {} ms: {}", browser,
+                        browserVersion == null ? "(not checked)" : browserVersion, source, TimeUnit.NANOSECONDS.toMillis(nanos), driver);
+            } else {
+                log.error("Could not resolve {} driver (browser version {}) after {} ms", browser, browserVersion, TimeUnit.NANOSECONDS.toMillis(nanos));
+            }
+        }
+    }
+
+    private static Path download(String browser, String browserVersion) {
+        WebDriverManager manager = "firefox".equals(browser) ? WebDriverManager.firefoxdriver() : WebDriverManager.chromedriver();
+        manager.cachePath(CACHE_DIR.toString());
+        if (!UNKNOWN_VERSION.equals(browserVersion)) {
+            manager.browserVersion(major(browserVersion)).avoidBrowserDetection(); // Already detected, don't do it twice
+        }
+        manager.setup();
+        Path driver = existing(manager.getDownloadedDriverPath());
+        if (driver == null) {
+            throw new IllegalStateException("WebDriverManager did not provide a " + browser + " driver binary");
+        }
+        return driver;
+    }
+
+    /**
+     * Looks for a pre-provisioned binary: first one matching the browser's major version, then an unversioned one.
+     */
+    private static Path findProvisioned(String browser, String browserVersion) {
+        String name = driverName(browser);
+        String suffix = WINDOWS ? ".exe" : "";
+        if (!UNKNOWN_VERSION.equals(browserVersion)) {
+            Path versioned = existing(BINARIES_DIR.resolve(name + "-" + major(browserVersion) + suffix).toString());
+            if (versioned != null) {
+                return versioned;
+            }
+        }
+        Path plain = existing(BINARIES_DIR.resolve(name + suffix).toString());
+        if (plain == null) {
+            throw new IllegalStateException("Offline mode: no " + name + " binary in " + BINARIES_DIR.toAbsolutePath()
+                    + " (expected " + name + "-<browser major version>" + suffix + " or " + name + suffix + ")");
+        }
+        return plain;
+    }
+
+    /**
+     * Detects the installed browser version from the browser binary itself (local, no network).
+     * "driver.browserVersion" overrides detection.
+     *
+     * @return The version (e.g. "118.0.5993.70"), or "unknown" if it could not be detected.
+     */
+    private static String detectBrowserVersion(String browser) {
+        String override = System.getProperty("driver.browserVersion");
+        if (override != null) {
+            return override;
+        }
+        try {
+            WebDriverManager manager = "firefox".equals(browser) ? WebDriverManager.firefoxdriver() : WebDriverManager.chromedriver();
+            Optional<Path> browserPath = manager.getBrowserPath();
+            if (browserPath.isPresent()) {
+                Process process = new ProcessBuilder(browserPath.get().toString(), "--version").redirectErrorStream(true).start();
+                String output;
+                try (InputStream stdout = process.getInputStream();
+                     BufferedReader reader = new BufferedReader(new InputStreamReader(stdout, StandardCharsets.UTF_8))) {
+                    output = reader.readLine();
+                }
+                process.waitFor(10, TimeUnit.SECONDS);
+                Matcher matcher = VERSION_PATTERN.matcher(output == null ? "" : output);
+                if (matcher.find()) {
+                    return matcher.group();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not detect the installed {} version.", browser, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("Could not detect the installed {} version, the driver cache index will not be used.", browser);
+        return UNKNOWN_VERSION;
+    }
+
+    private static Properties readIndex() {
+        Path file = CACHE_DIR.resolve(INDEX_FILE);
+        try {
+            return PropertiesFiles.read(file);
+        } catch (IOException e) {
+            log.warn("Could not read driver cache index {}", file, e);
+            return new Properties();
+        }
+    }
+
+    /**
+     * Adds an entry to the index. Shards started together resolve drivers at the same moment, so the index is
+     * updated under a file lock and replaced atomically (see PropertiesFiles).
+     */
+    private static void writeIndex(String key, Path driver) {
+        if (driver.toString().equals(readIndex().getProperty(key))) {
+            return;
+        }
+        Path file = CACHE_DIR.resolve(INDEX_FILE);
+        try {
+            PropertiesFiles.update(file, "Driver binaries by browser and browser version",
+                    index -> index.setProperty(key, driver.toString()));
+        } catch (IOException e) {
+            log.warn("Could not write driver cache index {}", file, e);
+        }
+    }
+
+    private static Path existing(String path) {
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        Path candidate = Paths.get(path);
+        return Files.isRegularFile(candidate) ? candidate.toAbsolutePath() : null;
+    }
+
+    private static String major(String version) {
+        int dot = version.indexOf('.');
+        return dot < 0 ? version : version.substring(0, dot);
+    }
+
+    private static String driverName(String browser) {
+        return "firefox".equals(browser) ? "geckodriver" : "chromedriver";
+    }
+
+    private static String driverProperty(String browser) {
+        return "firefox".equals(browser) ? "webdriver.gecko.driver" : "webdriver.chrome.driver";
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private DriverBinaryResolver() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
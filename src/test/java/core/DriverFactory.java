@@ -0,0 +1,217 @@
+package core;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Creates and configures new browser sessions.
+ * Used by the DriverPool whenever it needs a fresh session, so BaseTest no longer launches browsers itself.
+ * Browsers run headless by default (-Dbrowser.headless=false to watch them), with a fixed window size
+ * from "browser.windowSize" (default 1920,1080) so layouts don't depend on the machine.
+ * Chrome's sandbox is only disabled inside a container, or with -Dbrowser.noSandbox=true.
+ * Navigation uses the "browser.pageLoadStrategy" page-load strategy (default eager: return at DOMContentLoaded,
+ * without waiting for images); page objects wait for their own readiness condition instead (see BasePage.readiness()).
+ * WebDriver commands go through the shared, keep-alive HTTP client configured by DriverHttpClient.
+ * -Dgrid.url=http://host:4444 runs every session on a Selenium Grid instead (see GridScheduler).
+ */
+public class DriverFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverFactory.class);
+
+    // Default browser, can be overridden by the "browser" system property
+    public static final String DEFAULT_BROWSER = "chrome";
+
+    private static final boolean HEADLESS = Boolean.parseBoolean(System.getProperty("browser.headless", "true"));
+    private static final String DEFAULT_WINDOW_SIZE = "1920,1080";
+    private static final String[] WINDOW_SIZE = windowSize(); // Width and height, validated
+    private static final PageLoadStrategy PAGE_LOAD_STRATEGY = pageLoadStrategy();
+    // Grid browsers already reported as running without network interception
+    private static final Set<String> gridBrowsersWithoutDevTools = ConcurrentHashMap.newKeySet();
+    // Chrome's sandbox usually can't start in a container (no user namespaces); elsewhere it stays on
+    private static final boolean NO_SANDBOX = Boolean.parseBoolean(
+            System.getProperty("browser.noSandbox", String.valueOf(runningInContainer())));
+
+    /**
+     * Returns the browser requested for this run via the "browser" system property.
+     *
+     * @return Lower-cased browser name.
+     */
+    public static String requestedBrowser() {
+        return System.getProperty("browser", DEFAULT_BROWSER).toLowerCase();
+    }
+
+    private static String[] windowSize() {
+        String requested = System.getProperty("browser.windowSize", DEFAULT_WINDOW_SIZE);
+        String[] size = requested.split(",");
+        if (size.length == 2 && size[0].trim().matches("[1-9]\\d*") && size[1].trim().matches("[1-9]\\d*")) {
+            return new String[]{size[0].trim(), size[1].trim()};
+        }
+        log.warn("Invalid window size '{}' (expected WIDTH,HEIGHT), using {}.", requested, DEFAULT_WINDOW_SIZE);
+        return DEFAULT_WINDOW_SIZE.split(",");
+    }
+
+    /**
+     * @return True if this JVM runs inside a Docker/Podman/Kubernetes container.
+     */
+    private static boolean runningInContainer() {
+        if (Files.exists(Paths.get("/.dockerenv")) || Files.exists(Paths.get("/run/.containerenv"))) {
+            return true;
+        }
+        try {
+            String cgroup = new String(Files.readAllBytes(Paths.get("/proc/1/cgroup")), StandardCharsets.UTF_8);
+            return cgroup.contains("docker") || cgroup.contains("kubepods") || cgroup.contains("containerd");
+        } catch (IOException | RuntimeException e) {
+            return false; // Not Linux, or not readable: assume a regular machine
+        }
+    }
+
+    private static PageLoadStrategy pageLoadStrategy() {
+        String requested = System.getProperty("browser.pageLoadStrategy", "eager");
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(requested.toLowerCase());
+        if (strategy == null) {
+            log.warn("Unknown page load strategy '{}', using eager.", requested);
+            return PageLoadStrategy.EAGER;
+        }
+        return strategy;
+    }
+
+    /**
+     * Launches a new, fully configured WebDriver session for the given browser.
+     * With "grid.url" set, the session is requested from the Grid once GridScheduler has a free slot for it.
+     *
+     * @param browser The browser name (e.g. "chrome", "firefox").
+     * @return A new WebDriver instance.
+     */
+    public static WebDriver createDriver(String browser) {
+        if (GridScheduler.isEnabled()) {
+            return configure(createRemoteDriver(browser));
+        }
+        log.info("Launching new {} session on thread: {}", browser, Thread.currentThread().getName());
+        WebDriver driver;
+
+        switch (browser) {
+            case "firefox":
+                DriverBinaryResolver.resolve("firefox"); // Once per JVM, cached on disk
+                driver = new FirefoxDriver(GeckoDriverService.createDefaultService(), firefoxOptions(), DriverHttpClient.clientConfig());
+                break;
+            case "chrome":
+            default: // Default to Chrome if browser property is invalid or not set
+                DriverBinaryResolver.resolve("chrome"); // Once per JVM, cached on disk
+                driver = new ChromeDriver(ChromeDriverService.createDefaultService(), chromeOptions(), DriverHttpClient.clientConfig());
+                break;
+            // Open to extension by adding cases for other browsers (Edge, Safari) if needed
+        }
+        return configure(driver);
+    }
+
+    /**
+     * Requests a session from the Grid, on whichever of the "grid.browsers" has a free slot.
+     */
+    private static WebDriver createRemoteDriver(String requestedBrowser) {
+        GridScheduler scheduler = GridScheduler.get();
+        String browser = scheduler.acquire(GridScheduler.browsers(requestedBrowser));
+        log.info("Requesting new {} session from Grid {} on thread: {}", browser, GridScheduler.gridUrl(), Thread.currentThread().getName());
+        try {
+            return withDevTools(RemoteWebDriver.builder()
+                    .oneOf("firefox".equals(browser) ? firefoxOptions() : chromeOptions())
+                    .address(GridScheduler.gridUrl())
+                    .config(DriverHttpClient.clientConfig())
+                    .build(), browser);
+        } finally {
+            scheduler.sessionStarted(browser);
+        }
+    }
+
+    /**
+     * A plain RemoteWebDriver is not HasDevTools, so NetworkInterception would silently skip every Grid session.
+     * The Augmenter adds DevTools when the Grid advertises a CDP endpoint for the session (Chromium browsers);
+     * otherwise interception stays off, which is logged once per browser.
+     */
+    private static WebDriver withDevTools(WebDriver driver, String browser) {
+        if (driver instanceof HasDevTools) { // Already augmented by the builder
+            return driver;
+        }
+        try {
+            WebDriver augmented = new Augmenter().augment(driver);
+            if (augmented instanceof HasDevTools) {
+                return augmented;
+            }
+        } catch (RuntimeException e) {
+            log.debug("Could not augment Grid session of {} with DevTools.", browser, e);
+        }
+        if (gridBrowsersWithoutDevTools.add(browser)) {
+            log.warn("Grid {} sessions expose no DevTools endpoint: network interception (see NetworkPolicy) is off for them.", browser);
+        }
+        return driver;
+    }
+
+    private static FirefoxOptions firefoxOptions() {
+        FirefoxOptions firefoxOptions = new FirefoxOptions();
+        if (HEADLESS) {
+            firefoxOptions.addArguments("-headless");
+        }
+        firefoxOptions.addArguments("--width=" + WINDOW_SIZE[0], "--height=" + WINDOW_SIZE[1]);
+        firefoxOptions.setPageLoadStrategy(PAGE_LOAD_STRATEGY);
+        return firefoxOptions;
+    }
+
+    private static ChromeOptions chromeOptions() {
+        ChromeOptions chromeOptions = new ChromeOptions();
+        if (HEADLESS) {
+            chromeOptions.addArguments("--headless=new"); // Run headless (no UI)
+            chromeOptions.addArguments("--disable-gpu"); // Often needed for headless
+        }
+        chromeOptions.addArguments("--window-size=" + WINDOW_SIZE[0] + "," + WINDOW_SIZE[1]); // Set window size
+        if (NO_SANDBOX) {
+            chromeOptions.addArguments("--no-sandbox"); // Needed in most containers, see NO_SANDBOX
+        }
+        chromeOptions.addArguments("--disable-dev-shm-usage"); // May be needed in Docker/Linux
+        chromeOptions.setPageLoadStrategy(PAGE_LOAD_STRATEGY);
+        // Keep the browser console, so FailureArtifacts can attach it to failed tests
+        LoggingPreferences loggingPreferences = new LoggingPreferences();
+        loggingPreferences.enable(LogType.BROWSER, Level.ALL);
+        chromeOptions.setCapability(ChromeOptions.LOGGING_PREFS, loggingPreferences);
+        return chromeOptions;
+    }
+
+    private static WebDriver configure(WebDriver driver) {
+        // Basic configurations applied once per session (pooled sessions keep them between tests)
+        if (!HEADLESS) {
+            driver.manage().window().maximize(); // Maximize browser window (headless windows use browser.windowSize)
+        }
+
+        // Implicit waits are generally discouraged when using explicit waits properly.
+        // Kept at 0 so they never stack with SmartWait (every failed lookup would otherwise cost the implicit timeout).
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+
+        log.info("WebDriver basic configuration applied.");
+        return driver;
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private DriverFactory() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
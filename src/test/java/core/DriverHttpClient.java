@@ -0,0 +1,78 @@
+package core;
+
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * HTTP client settings for the WebDriver command executor (the Java client's link to chromedriver,
+ * geckodriver or a Grid), applied by DriverFactory to every session.
+ * "driver.http.client": "shared" (default) sends the commands of all sessions in this JVM through one pooled,
+ * keep-alive JDK HTTP client (SharedHttpClientFactory); "default" keeps Selenium's own client, for comparison.
+ * "driver.http.version": "1.1" (default) or "2" (HTTP/2, e.g. toward a local Grid; shared client only).
+ * "driver.http.connectTimeoutMillis" (default 5000) and "driver.http.readTimeoutSeconds" (default 180).
+ * Command latency is recorded by CommandStats either way.
+ */
+public class DriverHttpClient {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverHttpClient.class);
+
+    private static final String CLIENT = System.getProperty("driver.http.client", "shared");
+    private static final Duration CONNECT_TIMEOUT = Duration.ofMillis(Long.getLong("driver.http.connectTimeoutMillis", 5000L));
+    private static final Duration READ_TIMEOUT = Duration.ofSeconds(Long.getLong("driver.http.readTimeoutSeconds", 180L));
+
+    private static volatile boolean installed;
+
+    /**
+     * Makes the shared client Selenium's default HTTP client factory (once per JVM), unless disabled.
+     * Selenium reads its default factory once, so this must run before the first session is created.
+     */
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+        if (isShared() && System.getProperty("webdriver.http.factory") == null) {
+            System.setProperty("webdriver.http.factory", SharedHttpClientFactory.NAME);
+        }
+        log.info("WebDriver commands use the {} HTTP client (connect timeout {} ms, read timeout {} s)",
+                clientName(), CONNECT_TIMEOUT.toMillis(), READ_TIMEOUT.getSeconds());
+    }
+
+    /**
+     * @return The client configuration for a new session: tuned timeouts and command latency measurement.
+     */
+    public static ClientConfig clientConfig() {
+        install();
+        return ClientConfig.defaultConfig()
+                .connectionTimeout(CONNECT_TIMEOUT)
+                .readTimeout(READ_TIMEOUT)
+                .withFilter(CommandStats.filter(clientName()));
+    }
+
+    public static boolean isShared() {
+        return "shared".equalsIgnoreCase(CLIENT);
+    }
+
+    public static boolean useHttp2() {
+        return "2".equals(System.getProperty("driver.http.version", "1.1"));
+    }
+
+    public static Duration connectTimeout() {
+        return CONNECT_TIMEOUT;
+    }
+
+    /**
+     * @return "shared" or the name of Selenium's own client.
+     */
+    public static String clientName() {
+        return isShared() ? "shared" : System.getProperty("webdriver.http.factory", "default");
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private DriverHttpClient() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
@@ -1,12 +1,16 @@
 package core;
 
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 /**
  * Manages WebDriver instances using ThreadLocal to ensure thread safety for parallel execution.
  * Each thread running a test will get its own separate WebDriver instance.
+ * Sessions are normally borrowed from a shared {@link DriverPool} via checkoutDriver()/releaseDriver(),
+ * so browsers stay warm between tests. getDriver() is unchanged, so page objects are unaffected.
  */
 public class DriverManager {
 
@@ -16,6 +20,17 @@ public class DriverManager {
     // ThreadLocal variable to store WebDriver instances. <WebDriver> specifies the type of object it holds.
     private static final ThreadLocal<WebDriver> webDriverThreadLocal = new ThreadLocal<>();
 
+    // Set when the current thread's test failed, so its session is evicted instead of reused
+    private static final ThreadLocal<Boolean> sessionFailedThreadLocal = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    // Pool configuration, overridable by system properties. One session per parallel worker by default, a single
+    // session when the run is serial (so prewarming doesn't launch browsers nobody will use).
+    private static final int DEFAULT_POOL_SIZE = AdaptiveParallelism.isEnabled() ? AdaptiveParallelism.workerCount() : 1;
+    private static final int DEFAULT_MAX_REUSE = 25;
+
+    // Lazily created shared pool (see pool())
+    private static volatile DriverPool driverPool;
+
     /**
      * Returns the WebDriver instance for the current thread.
      *
@@ -33,6 +48,13 @@ public class DriverManager {
         return driver;
     }
 
+    /**
+     * @return True if a WebDriver instance is bound to the current thread.
+     */
+    public static boolean hasDriver() {
+        return webDriverThreadLocal.get() != null;
+    }
+
     /**
      * Sets the WebDriver instance for the current thread.
      * Should be called once per test execution thread, typically in a @BeforeEach/@BeforeMethod block.
@@ -63,6 +85,7 @@ public class DriverManager {
             } finally {
                 // Crucial: Remove the WebDriver instance from ThreadLocal to prevent memory leaks
                 webDriverThreadLocal.remove();
+                SessionContext.clear();
                 log.debug("Removed WebDriver instance from ThreadLocal for thread: {}", Thread.currentThread().getName());
             }
         } else {
@@ -70,6 +93,79 @@ public class DriverManager {
         }
     }
 
+    /**
+     * Checks out a warm WebDriver session from the shared pool and binds it to the current thread.
+     * Should be called once per test, typically in a @BeforeEach block, and paired with releaseDriver().
+     *
+     * @return The WebDriver instance now associated with the current thread.
+     */
+    public static WebDriver checkoutDriver() {
+        WebDriver driver = pool().checkout();
+        sessionFailedThreadLocal.set(Boolean.FALSE);
+        setDriver(driver);
+        if (driver instanceof RemoteWebDriver) { // Tag this test's log lines with the browser session
+            MDC.put(TestLogContextExtension.MDC_SESSION, String.valueOf(((RemoteWebDriver) driver).getSessionId()));
+        }
+        return driver;
+    }
+
+    /**
+     * Marks the current thread's session as failed, so releaseDriver() evicts it instead of reusing it.
+     */
+    public static void markSessionFailed() {
+        log.debug("Marking WebDriver session as failed for thread: {}", Thread.currentThread().getName());
+        sessionFailedThreadLocal.set(Boolean.TRUE);
+    }
+
+    /**
+     * Returns the current thread's WebDriver session to the pool and removes it from ThreadLocal.
+     * Should be called once per test, typically in an @AfterEach block.
+     */
+    public static void releaseDriver() {
+        WebDriver driver = webDriverThreadLocal.get();
+        if (driver == null) {
+            log.warn("Attempted to release a WebDriver instance, but none was found for thread: {}", Thread.currentThread().getName());
+            return;
+        }
+        try {
+            pool().checkin(driver, sessionFailedThreadLocal.get());
+        } finally {
+            webDriverThreadLocal.remove();
+            sessionFailedThreadLocal.remove();
+            SessionContext.clear();
+            MDC.remove(TestLogContextExtension.MDC_SESSION);
+            log.debug("Released WebDriver instance from thread: {}", Thread.currentThread().getName());
+        }
+    }
+
+    /**
+     * Returns the shared DriverPool, creating it (and its JVM shutdown hook) on first use.
+     * Creation starts prewarming "driver.pool.prewarm" sessions (default: the pool size, 0 disables it).
+     * The size is "driver.pool.size" (default: the parallel worker count, or 1 if parallel execution is disabled).
+     *
+     * @return The shared DriverPool.
+     */
+    public static DriverPool pool() {
+        DriverPool pool = driverPool;
+        if (pool == null) {
+            synchronized (DriverManager.class) {
+                pool = driverPool;
+                if (pool == null) {
+                    int size = Integer.getInteger("driver.pool.size", DEFAULT_POOL_SIZE);
+                    int maxReuse = Integer.getInteger("driver.pool.maxReuse", DEFAULT_MAX_REUSE);
+                    String browser = DriverFactory.requestedBrowser();
+                    // Idle sessions wait on the base URL, which is where BaseTest starts every test
+                    pool = new DriverPool(() -> DriverFactory.createDriver(browser), size, maxReuse, TestEnvironment.baseUrl());
+                    pool.prewarm(Integer.getInteger("driver.pool.prewarm", size));
+                    // Warm sessions outlive individual tests, so quit them when the JVM exits
+                    Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown, "driver-pool-shutdown"));
+                    driverPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
     // Private constructor to prevent instantiation of this utility class
     private DriverManager() {
         throw new IllegalStateException("Utility class - Do not instantiate");
@@ -0,0 +1,369 @@
+package core;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of warm WebDriver sessions.
+ * Sessions are checked out per test and checked back in afterwards instead of launching a new browser every time.
+ * On check-in a session is reset (cookies, local/session storage, about:blank) so the next test starts clean.
+ * Sessions that fail a health check, belonged to a failed test, or reached the max reuse count are quit and replaced.
+ * Checkout prefers the session the calling thread used last, so parallel workers keep their own driver.
+ * <p>
+ * Setup is taken off the test thread where possible:
+ * <ul>
+ *     <li>prewarm() keeps up to N sessions launching in the background ahead of demand, each already parked on the
+ *     landing URL; checkout waits for an in-flight launch instead of starting a second browser.</li>
+ *     <li>The reset on check-in runs in the background, overlapping with the rest of the previous test's teardown and
+ *     the next test's setup; checkout only waits for it if the session is needed before it finished.</li>
+ * </ul>
+ */
+public class DriverPool {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverPool.class);
+
+    // Clears web storage for the origin currently loaded. Wrapped in try/catch because about:blank has no storage.
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+
+    // How often a checkout waiting for a background launch re-checks whether launches are still in flight
+    private static final long LAUNCH_WAIT_POLL_MILLIS = 100;
+
+    private final Supplier<WebDriver> factory;
+    private final int maxSize;
+    private final int maxReuse;
+    private final String landingUrl; // Where idle sessions are parked after reset/launch
+
+    // One permit per live session: bounds the total number of browsers this pool can own at once
+    private final Semaphore permits;
+    // Warm sessions ready to be handed out (most recently returned first); some may still be resetting
+    private final BlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    // Sessions currently checked out, keyed by driver so check-in can find its bookkeeping
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+    // Drivers launched by this pool and not yet quit (idle + leased), and background launches still in flight.
+    // A set rather than a counter, so every quit path (evict, shutdown, stray check-in) keeps it exact.
+    private final Set<WebDriver> live = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger launching = new AtomicInteger();
+    // Background launches and resets
+    private final ExecutorService background = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-pool-background");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Number of idle sessions prewarming tries to keep ready; 0 disables prewarming
+    private volatile int warmTarget;
+    // Set after a background launch fails, so a broken environment doesn't turn into a relaunch loop
+    private volatile boolean prewarmFailed;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param factory  Supplier used to launch a new session when no warm one is available.
+     * @param maxSize  Maximum number of live sessions owned by the pool.
+     * @param maxReuse Number of tests a session may serve before it is recycled.
+     */
+    public DriverPool(Supplier<WebDriver> factory, int maxSize, int maxReuse) {
+        this(factory, maxSize, maxReuse, null);
+    }
+
+    /**
+     * Creates a new pool whose idle sessions wait on a landing page, so a test's first navigation is often already done.
+     *
+     * @param factory    Supplier used to launch a new session when no warm one is available.
+     * @param maxSize    Maximum number of live sessions owned by the pool.
+     * @param maxReuse   Number of tests a session may serve before it is recycled.
+     * @param landingUrl URL idle sessions are parked on after reset or background launch, or null for about:blank.
+     */
+    public DriverPool(Supplier<WebDriver> factory, int maxSize, int maxReuse, String landingUrl) {
+        if (maxSize < 1 || maxReuse < 1) {
+            throw new IllegalArgumentException("maxSize and maxReuse must be >= 1 (was " + maxSize + ", " + maxReuse + ")");
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.maxReuse = maxReuse;
+        this.landingUrl = landingUrl == null ? "about:blank" : landingUrl;
+        this.permits = new Semaphore(maxSize, true);
+        log.info("DriverPool created (maxSize: {}, maxReuse: {})", maxSize, maxReuse);
+    }
+
+    /**
+     * Starts keeping sessions warm: launches sessions in the background until the given number are idle
+     * (bounded by maxSize), and tops the idle set up again whenever a session is checked out or evicted.
+     *
+     * @param sessions Number of idle sessions to keep ready; 0 stops prewarming.
+     */
+    public void prewarm(int sessions) {
+        warmTarget = Math.max(0, Math.min(sessions, maxSize));
+        log.info("Prewarming up to {} WebDriver session(s) in the background.", warmTarget);
+        replenish();
+    }
+
+    /**
+     * Checks out a healthy session, reusing a warm one when possible.
+     * Blocks while the pool is at capacity and every session is in use.
+     *
+     * @return A WebDriver ready to be used by the calling thread.
+     */
+    public WebDriver checkout() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled WebDriver session", e);
+        }
+        try {
+            PooledSession session = takeOwnIdleSession();
+            while (session != null || (session = nextIdleSession()) != null) {
+                if (session.awaitReset() && session.isHealthy()) {
+                    log.debug("Reusing warm WebDriver session (use #{})", session.uses + 1);
+                    return leaseAndReplenish(session);
+                }
+                destroy(session, "failed reset or health check");
+                session = null;
+            }
+            log.debug("No warm session available, launching a new one.");
+            return leaseAndReplenish(launch());
+        } catch (RuntimeException e) {
+            permits.release(); // No session was handed out, give the slot back
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a session to the pool.
+     * Failed or worn-out sessions are evicted, the rest are reset and kept warm for the next test.
+     *
+     * @param driver The driver previously obtained from {@link #checkout()}.
+     * @param failed true if the test that used this session failed.
+     */
+    public void checkin(WebDriver driver, boolean failed) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            log.warn("Checked-in WebDriver is not leased from this pool, quitting it.");
+            if (live.remove(driver)) { // Launched here but checked in twice: drop it from the pool entirely
+                idle.removeIf(idleSession -> idleSession.driver == driver);
+                replenish();
+            }
+            quitQuietly(driver);
+            return;
+        }
+        try {
+            if (failed) {
+                destroy(session, "test failed");
+            } else if (session.uses >= maxReuse) {
+                destroy(session, "reached max reuse count of " + maxReuse);
+            } else {
+                resetInBackground(session);
+                idle.offerFirst(session);
+                log.debug("WebDriver session returned to pool ({} idle)", idle.size());
+            }
+        } finally {
+            permits.release();
+            replenish();
+        }
+    }
+
+    /**
+     * Quits every idle session. Leased sessions are left to their owners.
+     */
+    public void shutdown() {
+        log.info("Shutting down DriverPool ({} idle, {} leased)", idle.size(), leased.size());
+        warmTarget = 0;
+        background.shutdownNow();
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            live.remove(session.driver);
+            quitQuietly(session.driver);
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Removes and returns the idle session last used by the current thread, if any.
+     */
+    private PooledSession takeOwnIdleSession() {
+        Thread current = Thread.currentThread();
+        for (PooledSession session : idle) {
+            if (session.lastOwner == current && idle.remove(session)) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes and returns the next idle session. While background launches are in flight, waits for one of them
+     * instead of returning null, so the caller doesn't launch a second browser next to a nearly ready one.
+     */
+    private PooledSession nextIdleSession() {
+        PooledSession session = idle.pollFirst();
+        try {
+            while (session == null && launching.get() > 0) {
+                session = idle.pollFirst(LAUNCH_WAIT_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a prewarmed WebDriver session", e);
+        }
+        return session;
+    }
+
+    private WebDriver leaseAndReplenish(PooledSession session) {
+        session.uses++;
+        session.lastOwner = Thread.currentThread();
+        leased.put(session.driver, session);
+        replenish(); // This checkout may have taken the last warm session: start the next one now
+        return session.driver;
+    }
+
+    private PooledSession launch() {
+        PooledSession session = new PooledSession(factory.get());
+        live.add(session.driver);
+        return session;
+    }
+
+    /**
+     * Queues background launches until warmTarget sessions are idle or launching, without exceeding maxSize.
+     */
+    private void replenish() {
+        while (!prewarmFailed) {
+            synchronized (this) {
+                int pending = launching.get();
+                if (idle.size() + pending >= warmTarget || live.size() + pending >= maxSize) {
+                    return;
+                }
+                launching.incrementAndGet();
+            }
+            try {
+                background.execute(this::launchInBackground);
+            } catch (RejectedExecutionException e) { // Pool is shutting down
+                launching.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private void launchInBackground() {
+        try {
+            PooledSession session = launch();
+            session.driver.get(landingUrl); // Park it where the next test starts
+            if (live.size() > maxSize) { // A direct launch raced this one past the limit
+                destroy(session, "pool already at capacity");
+            } else {
+                idle.offerLast(session);
+                log.debug("Prewarmed WebDriver session ready ({} idle)", idle.size());
+            }
+        } catch (RuntimeException e) {
+            prewarmFailed = true;
+            log.warn("Background WebDriver launch failed, prewarming disabled for this run.", e);
+        } finally {
+            launching.decrementAndGet();
+        }
+    }
+
+    /**
+     * Starts the session's reset on a background thread; checkout waits for it (see PooledSession.awaitReset).
+     * Falls back to an inline reset if the background executor is gone.
+     */
+    private void resetInBackground(PooledSession session) {
+        try {
+            session.pendingReset = CompletableFuture.supplyAsync(() -> session.reset(landingUrl), background);
+        } catch (RejectedExecutionException e) {
+            session.pendingReset = CompletableFuture.completedFuture(session.reset(landingUrl));
+        }
+    }
+
+    private void destroy(PooledSession session, String reason) {
+        log.info("Evicting WebDriver session after {} use(s): {}", session.uses, reason);
+        live.remove(session.driver);
+        quitQuietly(session.driver);
+        replenish();
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.warn("Error while quitting pooled WebDriver session.", e);
+        }
+    }
+
+    /**
+     * Bookkeeping for a single pooled session.
+     */
+    private static final class PooledSession {
+
+        private final WebDriver driver;
+        private int uses; // Only touched by the thread that currently owns the session
+        private volatile Thread lastOwner; // Worker affinity hint
+        private volatile CompletableFuture<Boolean> pendingReset; // Reset started at check-in, null for new sessions
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        /**
+         * Cheap liveness probe: one round trip that fails if the browser or session is gone.
+         */
+        private boolean isHealthy() {
+            try {
+                return driver.getWindowHandle() != null;
+            } catch (Exception e) {
+                log.debug("Pooled session health check failed.", e);
+                return false;
+            }
+        }
+
+        /**
+         * Waits for the reset started at check-in, if any.
+         *
+         * @return true if there was no reset or it succeeded.
+         */
+        private boolean awaitReset() {
+            CompletableFuture<Boolean> reset = pendingReset;
+            if (reset == null) {
+                return true;
+            }
+            try {
+                return reset.join();
+            } catch (RuntimeException e) {
+                log.debug("Pooled session reset did not complete.", e);
+                return false;
+            }
+        }
+
+        /**
+         * Clears per-test browser state. Storage is cleared before leaving the page since it is per origin.
+         */
+        private boolean reset(String landingUrl) {
+            try {
+                driver.manage().deleteAllCookies();
+                ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+                driver.get(landingUrl);
+                return true;
+            } catch (Exception e) {
+                log.warn("Could not reset pooled WebDriver session.", e);
+                return false;
+            }
+        }
+    }
+}
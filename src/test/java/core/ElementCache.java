@@ -0,0 +1,95 @@
+package core;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolved elements of one page object, keyed by locator, so repeated interactions with the same element
+ * (title check, then click, then read) skip the findElement round trip.
+ * Each page object owns its own cache. Page objects live on their test's thread, so the map needs no locking.
+ * Entries are dropped when the page navigates away (BasePage.transition) and when a cached element turns out
+ * to be stale; BasePage then re-resolves it through the normal wait.
+ * Hit/miss/eviction counters are global, for the end-of-run summary.
+ * Disable with -Delement.cache.enabled=false.
+ */
+public class ElementCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ElementCache.class);
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("element.cache.enabled", "true"));
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder evictions = new LongAdder();
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+
+    /**
+     * @return The cached element for the locator, or null (counted as a miss).
+     */
+    public WebElement get(By locator) {
+        WebElement element = ENABLED ? elements.get(locator) : null;
+        if (element == null) {
+            misses.increment();
+        }
+        return element;
+    }
+
+    /**
+     * Counts a successful use of a cached element.
+     */
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void put(By locator, WebElement element) {
+        if (ENABLED) {
+            elements.put(locator, element);
+        }
+    }
+
+    /**
+     * Drops a cached element that could not be used (stale, hidden, covered).
+     */
+    public void evict(By locator, String reason) {
+        if (elements.remove(locator) != null) {
+            evictions.increment();
+            log.debug("Evicted cached element for {}: {}", locator, reason);
+        }
+    }
+
+    /**
+     * Drops every entry, e.g. after the page navigated away.
+     */
+    public void clear() {
+        elements.clear();
+    }
+
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    public static long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return One-line summary of the global counters.
+     */
+    public static String summary() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return String.format("%d hit(s), %d miss(es), %d eviction(s), hit rate %.1f%%",
+                hitCount, getMisses(), getEvictions(), total == 0 ? 0.0 : hitCount * 100.0 / total);
+    }
+}
@@ -0,0 +1,146 @@
+package core;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Captures what a failed test left behind: screenshot, page source, browser console and the ActionTrail.
+ * Only the browser round trips happen on the test thread; base64 decoding, compression and the disk write run
+ * on a background thread, so teardown and the next test don't wait for them.
+ * One zip per failure in "artifacts.dir" (default target/failure-artifacts). Pending writes are finished
+ * before the JVM exits.
+ */
+public class FailureArtifacts {
+
+    private static final Logger log = LoggerFactory.getLogger(FailureArtifacts.class);
+
+    private static final Path DIR = Paths.get(System.getProperty("artifacts.dir", "target/failure-artifacts"));
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "failure-artifacts-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            writer.shutdown();
+            try {
+                if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                    log.warn("Failure artifacts still being written at shutdown, some may be incomplete.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "failure-artifacts-flush"));
+    }
+
+    /**
+     * Captures the current thread's browser state and trail, and writes them in the background.
+     * Does nothing if the thread has no driver. Never throws: artifact capture must not mask the test failure.
+     *
+     * @param name  Name of the failed test or flow (used in the file name).
+     * @param error The failure.
+     */
+    public static void capture(String name, Throwable error) {
+        if (!DriverManager.hasDriver()) {
+            log.debug("No WebDriver on this thread, skipping failure artifacts for {}", name);
+            return;
+        }
+        WebDriver driver = DriverManager.getDriver();
+        long start = System.nanoTime();
+        // Raw data only; everything expensive happens on the writer thread
+        String screenshotBase64 = null;
+        String pageSource = null;
+        String url = null;
+        List<LogEntry> console = null;
+        try {
+            url = driver.getCurrentUrl();
+            if (driver instanceof TakesScreenshot) {
+                screenshotBase64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+            }
+            pageSource = driver.getPageSource();
+            LogEntries entries = driver.manage().logs().get(LogType.BROWSER);
+            console = entries.getAll();
+        } catch (RuntimeException e) {
+            log.debug("Partial failure artifacts for {} (browser did not answer everything)", name, e);
+        }
+        String actions = ActionTrail.actions();
+        StepMetrics.record(FailureArtifacts.class, "capture", "browser state", System.nanoTime() - start);
+
+        Path file = DIR.resolve(name.replaceAll("[^A-Za-z0-9._-]+", "_") + "-" + LocalDateTime.now().format(TIMESTAMP) + ".zip");
+        String capturedUrl = url;
+        String capturedScreenshot = screenshotBase64;
+        String capturedSource = pageSource;
+        List<LogEntry> capturedConsole = console;
+        writer.execute(() -> write(file, name, error, capturedUrl, capturedScreenshot, capturedSource, capturedConsole, actions));
+    }
+
+    private static void write(Path file, String name, Throwable error, String url, String screenshotBase64, String pageSource,
+                              List<LogEntry> console, String actions) {
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(DIR);
+            try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+                StringWriter failure = new StringWriter();
+                failure.append(name).append('\n').append("URL: ").append(String.valueOf(url)).append("\n\n");
+                error.printStackTrace(new PrintWriter(failure));
+                entry(zip, "failure.txt", failure.toString().getBytes(StandardCharsets.UTF_8));
+                entry(zip, "actions.txt", actions.getBytes(StandardCharsets.UTF_8));
+                if (screenshotBase64 != null) {
+                    entry(zip, "screenshot.png", Base64.getMimeDecoder().decode(screenshotBase64));
+                }
+                if (pageSource != null) {
+                    entry(zip, "page-source.html", pageSource.getBytes(StandardCharsets.UTF_8));
+                }
+                if (console != null) {
+                    StringBuilder lines = new StringBuilder();
+                    for (LogEntry logEntry : console) {
+                        lines.append(logEntry).append('\n');
+                    }
+                    entry(zip, "console.log", lines.toString().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            log.info("Failure artifacts for {} written to {} in {} ms", name, file.toAbsolutePath(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not write failure artifacts for {} to {}", name, file, e);
+        }
+    }
+
+    private static void entry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private FailureArtifacts() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
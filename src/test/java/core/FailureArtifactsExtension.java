@@ -0,0 +1,30 @@
+package core;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * JUnit 5 extension that keeps an ActionTrail for every test and, only when the test fails, captures
+ * failure artifacts (see FailureArtifacts). Capture runs right after the test method, while the
+ * WebDriver is still checked out; the encoding and disk write happen in the background.
+ */
+public class FailureArtifactsExtension implements BeforeEachCallback, AfterTestExecutionCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        ActionTrail.begin();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        context.getExecutionException().ifPresent(error -> FailureArtifacts.capture(
+                context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName(), error));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        ActionTrail.end();
+    }
+}
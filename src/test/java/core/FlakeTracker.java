@@ -0,0 +1,130 @@
+package core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-locator flakiness statistics, fed by StepRetry: how many calls a step made, how many needed at least one
+ * retry, how many still failed after the last retry.
+ * A locator whose retry rate reaches "step.flake.quarantineRate" (default 0.2) over at least
+ * "step.flake.minSamples" calls (default 5) is quarantined: it keeps being retried, but is logged once, flagged on
+ * each retry in the test's ActionTrail (see StepRetry) and listed in the end-of-run report (StepMetricsExporter),
+ * so it gets fixed instead of silently absorbed.
+ */
+public class FlakeTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(FlakeTracker.class);
+
+    private static final double QUARANTINE_RATE = Double.parseDouble(System.getProperty("step.flake.quarantineRate", "0.2"));
+    private static final int MIN_SAMPLES = Integer.getInteger("step.flake.minSamples", 5);
+
+    private static final Map<String, Stats> statsByLocator = new ConcurrentHashMap<>();
+
+    /**
+     * Records the outcome of one step call.
+     *
+     * @param locator Page and locator of the step (e.g. "CartPage By.id: checkout").
+     * @param retries Retries the call needed (0 = passed or failed at the first attempt).
+     * @param passed  Whether the call eventually succeeded.
+     */
+    public static void record(String locator, int retries, boolean passed) {
+        Stats stats = statsByLocator.computeIfAbsent(locator, key -> new Stats());
+        stats.calls.increment();
+        if (retries > 0) {
+            stats.retried.increment();
+            if (!passed) {
+                stats.failedAfterRetry.increment();
+            }
+        }
+        if (!stats.quarantined && stats.calls.sum() >= MIN_SAMPLES && stats.retryRate() >= QUARANTINE_RATE) {
+            stats.quarantined = true;
+            log.warn("Quarantined flaky locator {}: {} of {} call(s) needed a retry", locator, stats.retried.sum(), stats.calls.sum());
+        }
+    }
+
+    /**
+     * @return True if the locator reached the quarantine retry rate.
+     */
+    public static boolean isQuarantined(String locator) {
+        Stats stats = statsByLocator.get(locator);
+        return stats != null && stats.quarantined;
+    }
+
+    /**
+     * @return Calls a locator needs before it can be quarantined ("step.flake.minSamples").
+     */
+    public static int minSamples() {
+        return MIN_SAMPLES;
+    }
+
+    /**
+     * @return Retry rate at which a locator is quarantined ("step.flake.quarantineRate").
+     */
+    public static double quarantineRate() {
+        return QUARANTINE_RATE;
+    }
+
+    /**
+     * @return One row per locator that needed at least one retry, quarantined first, highest retry rate first.
+     */
+    public static List<Map<String, Object>> report() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        statsByLocator.forEach((locator, stats) -> {
+            if (stats.retried.sum() == 0) {
+                return;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("locator", locator);
+            row.put("calls", stats.calls.sum());
+            row.put("retried", stats.retried.sum());
+            row.put("failedAfterRetry", stats.failedAfterRetry.sum());
+            row.put("retryRate", stats.retryRate());
+            row.put("quarantined", stats.quarantined);
+            rows.add(row);
+        });
+        rows.sort((a, b) -> a.get("quarantined").equals(b.get("quarantined"))
+                ? Double.compare((Double) b.get("retryRate"), (Double) a.get("retryRate"))
+                : (Boolean) a.get("quarantined") ? -1 : 1);
+        return rows;
+    }
+
+    /**
+     * @return One-line summary: retried and quarantined locators.
+     */
+    public static String summary() {
+        List<Map<String, Object>> rows = report();
+        List<String> quarantined = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            if ((Boolean) row.get("quarantined")) {
+                quarantined.add(String.format("%s (%.0f%%)", row.get("locator"), (Double) row.get("retryRate") * 100));
+            }
+        }
+        return String.format("%d locator(s) needed retries, %d quarantined%s", rows.size(), quarantined.size(),
+                quarantined.isEmpty() ? "" : ": " + String.join(", ", quarantined));
+    }
+
+    private static final class Stats {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder retried = new LongAdder();
+        private final LongAdder failedAfterRetry = new LongAdder();
+        private volatile boolean quarantined;
+
+        private double retryRate() {
+            long total = calls.sum();
+            return total == 0 ? 0.0 : (double) retried.sum() / total;
+        }
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private FlakeTracker() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
@@ -0,0 +1,216 @@
+package core;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Client-side admission control for a Selenium Grid (or standalone server) at "grid.url".
+ * Before a session is requested, acquire() polls the Grid's /status for free slots per browser and blocks,
+ * first come first served, until one is free, so tests queue on our side instead of failing on the Grid's
+ * session-request timeout when every node is busy. Nodes that join later are picked up by the next poll.
+ * With several browsers in "grid.browsers" (e.g. chrome,firefox; default: the "browser" property) each session
+ * goes to the browser with the most free slots, ties going to the browser we started fewer sessions on.
+ * "grid.pollMillis" (default 500) is the /status polling interval, "grid.queueTimeoutSeconds" (default 600)
+ * how long a session may wait for a slot before the test fails.
+ */
+public class GridScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(GridScheduler.class);
+
+    private static volatile GridScheduler instance;
+
+    private final URI statusUri;
+    private final long pollMillis;
+    private final Duration queueTimeout;
+    private final HttpClient httpClient;
+    private final Json json = new Json();
+
+    // Fair: waiting sessions get their slot in arrival order
+    private final ReentrantLock queue = new ReentrantLock(true);
+    // Slots handed out but not yet visible as busy in /status, per browser
+    private final Map<String, Integer> reserved = new HashMap<>();
+    private final Map<String, Integer> started = new HashMap<>();
+
+    /**
+     * @param gridUrl      Base URL of the Grid (hub, router or standalone).
+     * @param pollMillis   Interval between two /status requests while waiting.
+     * @param queueTimeout Maximum wait for a free slot.
+     */
+    public GridScheduler(String gridUrl, long pollMillis, Duration queueTimeout) {
+        this.statusUri = URI.create(gridUrl.endsWith("/") ? gridUrl : gridUrl + "/").resolve("status");
+        this.pollMillis = pollMillis;
+        this.queueTimeout = queueTimeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    /**
+     * @return True if tests run on a Grid ("grid.url" is set).
+     */
+    public static boolean isEnabled() {
+        return gridUrl() != null;
+    }
+
+    public static String gridUrl() {
+        String url = System.getProperty("grid.url");
+        return url == null || url.trim().isEmpty() ? null : url.trim();
+    }
+
+    /**
+     * @param requested The browser requested for this run, used when "grid.browsers" is not set.
+     * @return The browsers sessions may be spread across.
+     */
+    public static List<String> browsers(String requested) {
+        String browsers = System.getProperty("grid.browsers");
+        if (browsers == null || browsers.trim().isEmpty()) {
+            return Collections.singletonList(requested);
+        }
+        return Arrays.stream(browsers.split(",")).map(String::trim).map(String::toLowerCase)
+                .filter(browser -> !browser.isEmpty()).collect(Collectors.toList());
+    }
+
+    /**
+     * @return The JVM-wide scheduler for "grid.url", created on first use.
+     */
+    public static GridScheduler get() {
+        GridScheduler scheduler = instance;
+        if (scheduler == null) {
+            synchronized (GridScheduler.class) {
+                scheduler = instance;
+                if (scheduler == null) {
+                    scheduler = new GridScheduler(gridUrl(), Long.getLong("grid.pollMillis", 500L),
+                            Duration.ofSeconds(Long.getLong("grid.queueTimeoutSeconds", 600L)));
+                    instance = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * Waits for a free slot for one of the browsers and reserves it. Pair with sessionStarted() once the session
+     * request returned (successfully or not).
+     *
+     * @param browsers Acceptable browsers.
+     * @return The browser to start the session on.
+     * @throws RuntimeException if no slot became free within the queue timeout.
+     */
+    public String acquire(List<String> browsers) {
+        long start = System.nanoTime();
+        long deadline = start + queueTimeout.toNanos();
+        try {
+            if (!queue.tryLock(queueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Timed out after " + queueTimeout.getSeconds() + " s queueing for a Grid slot for " + browsers);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing for a Grid slot", e);
+        }
+        try {
+            boolean loggedWait = false;
+            while (true) {
+                String browser = pick(browsers, freeSlots());
+                if (browser != null) {
+                    synchronized (this) {
+                        reserved.merge(browser, 1, Integer::sum);
+                        started.merge(browser, 1, Integer::sum);
+                    }
+                    long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    StepMetrics.record(GridScheduler.class, "acquire", browser, System.nanoTime() - start);
+                    log.debug("Grid slot acquired for {} after {} ms", browser, waitedMillis);
+                    return browser;
+                }
+                if (System.nanoTime() >= deadline) {
+                    throw new RuntimeException("No free Grid slot for " + browsers + " at " + statusUri
+                            + " within " + queueTimeout.getSeconds() + " s");
+                }
+                if (!loggedWait) {
+                    log.info("Grid at {} has no free slot for {}, queueing", statusUri, browsers);
+                    loggedWait = true;
+                }
+                Thread.sleep(pollMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing for a Grid slot", e);
+        } finally {
+            queue.unlock();
+        }
+    }
+
+    /**
+     * Releases the reservation made by acquire(): from now on /status itself reports the slot as busy (or free
+     * again, if the session request failed).
+     */
+    public synchronized void sessionStarted(String browser) {
+        reserved.computeIfPresent(browser, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * The browser with the most usable free slots (reported free minus reserved), or null if none is free.
+     */
+    private synchronized String pick(List<String> browsers, Map<String, Integer> free) {
+        String best = null;
+        int bestFree = 0;
+        for (String browser : browsers) {
+            int usable = free.getOrDefault(browser, 0) - reserved.getOrDefault(browser, 0);
+            if (usable > bestFree || (usable == bestFree && usable > 0
+                    && started.getOrDefault(browser, 0) < started.getOrDefault(best, 0))) {
+                best = browser;
+                bestFree = usable;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Free slots per browser name (lower case) on the nodes that are UP, from the Grid's /status.
+     * An unreachable Grid counts as having no free slot (the caller keeps waiting).
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Integer> freeSlots() {
+        Map<String, Integer> free = new HashMap<>();
+        try {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(statusUri).timeout(Duration.ofSeconds(10)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.warn("Grid status {} returned HTTP {}", statusUri, response.statusCode());
+                return free;
+            }
+            Map<String, Object> status = json.toType(response.body(), Json.MAP_TYPE);
+            Map<String, Object> value = (Map<String, Object>) status.get("value");
+            for (Object node : (List<Object>) value.getOrDefault("nodes", Collections.emptyList())) {
+                Map<String, Object> nodeStatus = (Map<String, Object>) node;
+                if (!"UP".equals(nodeStatus.get("availability"))) {
+                    continue;
+                }
+                for (Object slot : (List<Object>) nodeStatus.getOrDefault("slots", Collections.emptyList())) {
+                    Map<String, Object> slotStatus = (Map<String, Object>) slot;
+                    Map<String, Object> stereotype = (Map<String, Object>) slotStatus.get("stereotype");
+                    String browser = String.valueOf(stereotype.get("browserName")).toLowerCase();
+                    free.merge(browser, slotStatus.get("session") == null ? 1 : 0, Integer::sum);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read Grid status from {}: {}", statusUri, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return free;
+    }
+}
@@ -0,0 +1,166 @@
+package core;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded, in-JVM HTTP server that serves a local copy of the Sauce Demo storefront
+ * (login, inventory, cart and checkout pages) from src/test/resources/storefront.
+ * Started once per JVM on a random port; all pages are held in memory so page loads cost well under a millisecond
+ * and runs don't depend on network latency. Select it with -Dstorefront=local (see TestEnvironment).
+ * <p>
+ * When browsers run on another host (e.g. Docker nodes), set -Dstorefront.host to an address they can reach;
+ * the server then listens on all interfaces instead of loopback only.
+ */
+public class LocalStorefront {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalStorefront.class);
+
+    private static final String RESOURCE_ROOT = "storefront/";
+    private static final String[] FILES = {
+            "index.html", "inventory.html", "cart.html",
+            "checkout-step-one.html", "checkout-step-two.html", "checkout-complete.html",
+            "storefront.js", "storefront.css"
+    };
+
+    private static volatile LocalStorefront instance;
+
+    private final Map<String, byte[]> content = new HashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String baseUrl;
+
+    private LocalStorefront() throws IOException {
+        for (String file : FILES) {
+            content.put("/" + file, readResource(RESOURCE_ROOT + file));
+        }
+        content.put("/", content.get("/index.html"));
+
+        String host = System.getProperty("storefront.host");
+        InetSocketAddress address = host == null
+                ? new InetSocketAddress(InetAddress.getLoopbackAddress(), 0)
+                : new InetSocketAddress(0);
+        server = HttpServer.create(address, 0);
+        server.createContext("/", this::handle);
+        // Many parallel browsers may load pages at once
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-storefront");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        startAsDaemon(server);
+
+        String advertisedHost = host != null ? host : InetAddress.getLoopbackAddress().getHostAddress();
+        baseUrl = "http://" + advertisedHost + ":" + server.getAddress().getPort() + "/";
+        log.info("Local storefront started at {}", baseUrl);
+    }
+
+    /**
+     * Returns the JVM-wide storefront, starting it on first use.
+     *
+     * @return The running storefront.
+     */
+    public static LocalStorefront get() {
+        LocalStorefront storefront = instance;
+        if (storefront == null) {
+            synchronized (LocalStorefront.class) {
+                storefront = instance;
+                if (storefront == null) {
+                    try {
+                        storefront = new LocalStorefront();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Could not start the local storefront", e);
+                    }
+                    Runtime.getRuntime().addShutdownHook(new Thread(storefront::stop, "local-storefront-shutdown"));
+                    instance = storefront;
+                }
+            }
+        }
+        return storefront;
+    }
+
+    /**
+     * @return The storefront's base URL, ending with "/".
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * The server's dispatcher thread inherits the daemon flag of the thread that starts it.
+     * Starting it from a daemon thread keeps a forgotten server from holding the JVM open (e.g. IDE runs).
+     */
+    private static void startAsDaemon(HttpServer server) throws IOException {
+        Thread starter = new Thread(server::start, "local-storefront-starter");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while starting the local storefront", e);
+        }
+    }
+
+    private void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        log.debug("Local storefront stopped.");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath(); // Query strings (e.g. ?denied=...) are handled client-side
+            byte[] body = content.get(path);
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1); // Static pages only, all state lives in the browser
+                return;
+            }
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType(path));
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String contentType(String path) {
+        if (path.endsWith(".js")) {
+            return "application/javascript; charset=utf-8";
+        }
+        if (path.endsWith(".css")) {
+            return "text/css; charset=utf-8";
+        }
+        return "text/html; charset=utf-8";
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream in = LocalStorefront.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("Storefront resource not found on classpath: " + name);
+            }
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package core;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Request interception for one test, through the DevTools Fetch domain (Chromium-based browsers).
+ * Requests matching the suite's {@link NetworkPolicy} block patterns are answered with an empty 204 without
+ * touching the network; requests matching the cache patterns are served from a shared in-memory cache to every
+ * session. Everything else proceeds normally.
+ * The handler never waits on the network: a cache miss proceeds to the browser while the asset is fetched into the
+ * cache in the background, and the size of a blocked URL is learned once per JVM from the Content-Length of a
+ * background HEAD request (blocked bytes are therefore what the server declares, and not yet counted for a URL
+ * whose first HEAD is still pending when the test ends).
+ * Counters are kept per test and logged when the interception is closed; JVM totals go into the step metrics summary.
+ * Disable with -Dnetwork.intercept=false. Browsers without DevTools (e.g. Firefox) run unintercepted.
+ */
+public class NetworkInterception implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkInterception.class);
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("network.intercept", "true"));
+    private static final long CACHE_MAX_BYTES = Long.getLong("network.cache.maxBytes", 64L * 1024 * 1024);
+
+    // Static assets shared by all sessions, keyed by URL
+    private static final Map<String, CachedAsset> assetCache = new ConcurrentHashMap<>();
+    private static final AtomicLong assetCacheBytes = new AtomicLong();
+    // Cache misses being fetched in the background, so each URL is fetched once
+    private static final Set<String> pendingFetches = ConcurrentHashMap.newKeySet();
+    // Declared size of blocked URLs, -1 while unknown (HEAD pending, failed or without Content-Length)
+    private static final Map<String, Long> blockedSizes = new ConcurrentHashMap<>();
+    // Fetches assets and sizes outside the browser; static assets don't need the session's cookies
+    private static final HttpClient assetClient = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    // JVM-wide totals
+    private static final LongAdder totalBlocked = new LongAdder();
+    private static final LongAdder totalBytesBlocked = new LongAdder();
+    private static final LongAdder totalCacheHits = new LongAdder();
+    private static final LongAdder totalBytesFromCache = new LongAdder();
+
+    private final NetworkInterceptor interceptor;
+    private final List<Pattern> blockPatterns;
+    private final List<Pattern> cachePatterns;
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder bytesBlocked = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder bytesFromCache = new LongAdder();
+    private final LongAdder passedThrough = new LongAdder();
+
+    private NetworkInterception(WebDriver driver, List<Pattern> blockPatterns, List<Pattern> cachePatterns) {
+        this.blockPatterns = blockPatterns;
+        this.cachePatterns = cachePatterns;
+        this.interceptor = new NetworkInterceptor(driver, (Filter) next -> this::handle);
+    }
+
+    /**
+     * Starts intercepting the driver's requests with the policy of the given test class.
+     *
+     * @param driver    The session to intercept.
+     * @param testClass The test class; its (possibly inherited) @NetworkPolicy is applied.
+     * @return The active interception (close it after the test), or null if interception is off or unsupported.
+     */
+    public static NetworkInterception install(WebDriver driver, Class<?> testClass) {
+        NetworkPolicy policy = testClass.getAnnotation(NetworkPolicy.class);
+        if (!ENABLED || policy == null || !policy.enabled()) {
+            return null;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            log.debug("{} has no DevTools support, running without network interception.", driver.getClass().getSimpleName());
+            return null;
+        }
+        List<Pattern> block = compile(System.getProperty("network.block"), policy.block());
+        List<Pattern> cache = compile(System.getProperty("network.cache"), policy.cache());
+        try {
+            return new NetworkInterception(driver, block, cache);
+        } catch (RuntimeException e) {
+            log.warn("Could not install network interception, running without it.", e);
+            return null;
+        }
+    }
+
+    private HttpResponse handle(HttpRequest request) {
+        String url = request.getUri();
+        if (matches(blockPatterns, url)) {
+            blocked.increment();
+            totalBlocked.increment();
+            Long size = blockedSizes.putIfAbsent(url, -1L);
+            if (size == null) {
+                learnBlockedSize(url); // First time this URL is blocked
+            } else if (size > 0) {
+                addBytesBlocked(size);
+            }
+            return new HttpResponse().setStatus(204).setContent(Contents.empty());
+        }
+        if (request.getMethod() == HttpMethod.GET && matches(cachePatterns, url)) {
+            CachedAsset asset = assetCache.get(url);
+            if (asset != null) {
+                cacheHits.increment();
+                totalCacheHits.increment();
+                bytesFromCache.add(asset.body.length);
+                totalBytesFromCache.add(asset.body.length);
+                return asset.toResponse();
+            }
+            cacheMisses.increment(); // Not counted as passed through: the browser loads it, but only until it is cached
+            if (pendingFetches.add(url)) {
+                fetchIntoCache(url);
+            }
+            return NetworkInterceptor.PROCEED_WITH_REQUEST;
+        }
+        passedThrough.increment();
+        return NetworkInterceptor.PROCEED_WITH_REQUEST;
+    }
+
+    private void addBytesBlocked(long bytes) {
+        bytesBlocked.add(bytes);
+        totalBytesBlocked.add(bytes);
+    }
+
+    /**
+     * Asks the server for a blocked URL's size in the background and counts it for this test once known.
+     */
+    private void learnBlockedSize(String url) {
+        try {
+            assetClient.sendAsync(
+                            java.net.http.HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(10))
+                                    .method("HEAD", java.net.http.HttpRequest.BodyPublishers.noBody()).build(),
+                            java.net.http.HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        long size = response.statusCode() == 200
+                                ? response.headers().firstValueAsLong("Content-Length").orElse(-1L) : -1L;
+                        blockedSizes.put(url, size);
+                        if (size > 0) {
+                            addBytesBlocked(size);
+                        }
+                    })
+                    .exceptionally(e -> {
+                        log.debug("Could not learn the size of blocked {}", url, e);
+                        return null;
+                    });
+        } catch (IllegalArgumentException e) {
+            log.debug("Could not learn the size of blocked {}", url, e);
+        }
+    }
+
+    /**
+     * Fetches an asset in the background and caches it if it was a plain 200 and the cache has room.
+     * Until it is cached, requests for it proceed to the browser.
+     */
+    private static void fetchIntoCache(String url) {
+        try {
+            assetClient.sendAsync(
+                            java.net.http.HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(10)).GET().build(),
+                            java.net.http.HttpResponse.BodyHandlers.ofByteArray())
+                    .thenAccept(response -> {
+                        if (response.statusCode() == 200) {
+                            cache(url, new CachedAsset(response.body(),
+                                    response.headers().firstValue("Content-Type").orElse("application/octet-stream")));
+                        }
+                    })
+                    .exceptionally(e -> {
+                        log.debug("Could not fetch {} for the asset cache, the browser keeps loading it.", url, e);
+                        return null;
+                    })
+                    .whenComplete((ignored, e) -> pendingFetches.remove(url));
+        } catch (IllegalArgumentException e) {
+            pendingFetches.remove(url);
+            log.debug("Could not fetch {} for the asset cache, the browser keeps loading it.", url, e);
+        }
+    }
+
+    private static void cache(String url, CachedAsset asset) {
+        if (assetCacheBytes.addAndGet(asset.body.length) <= CACHE_MAX_BYTES) {
+            if (assetCache.putIfAbsent(url, asset) != null) {
+                assetCacheBytes.addAndGet(-asset.body.length); // Cached meanwhile, keep the count exact
+            }
+        } else {
+            assetCacheBytes.addAndGet(-asset.body.length);
+            log.debug("Asset cache full ({} bytes max), not caching {}", CACHE_MAX_BYTES, url);
+        }
+    }
+
+    /**
+     * Stops intercepting and logs what this test saved.
+     */
+    @Override
+    public void close() {
+        try {
+            interceptor.close();
+        } catch (RuntimeException e) {
+            log.debug("Error while removing network interception.", e);
+        }
+        log.info("Network: {}", this);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d request(s) blocked (%d KB declared), %d served from cache (%d KB), %d cache miss(es), %d passed through",
+                blocked.sum(), bytesBlocked.sum() / 1024, cacheHits.sum(), bytesFromCache.sum() / 1024, cacheMisses.sum(),
+                passedThrough.sum());
+    }
+
+    /**
+     * @return One-line summary of the JVM-wide totals.
+     */
+    public static String totalsSummary() {
+        return String.format("%d request(s) blocked (%d KB declared), %d served from cache (%d KB), %d asset(s) cached",
+                totalBlocked.sum(), totalBytesBlocked.sum() / 1024, totalCacheHits.sum(), totalBytesFromCache.sum() / 1024,
+                assetCache.size());
+    }
+
+    private static List<Pattern> compile(String override, String[] defaults) {
+        List<String> globs = override != null ? Arrays.asList(override.split(",")) : Arrays.asList(defaults);
+        List<Pattern> patterns = new ArrayList<>(globs.size());
+        for (String glob : globs) {
+            if (!glob.trim().isEmpty()) {
+                String[] parts = glob.trim().split("\\*", -1);
+                StringBuilder regex = new StringBuilder();
+                for (int i = 0; i < parts.length; i++) {
+                    if (i > 0) {
+                        regex.append(".*"); // '*' matches any run of characters
+                    }
+                    regex.append(Pattern.quote(parts[i]));
+                }
+                patterns.add(Pattern.compile(regex.toString()));
+            }
+        }
+        return patterns;
+    }
+
+    private static boolean matches(List<Pattern> patterns, String url) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A cached static asset.
+     */
+    private static final class CachedAsset {
+
+        private final byte[] body;
+        private final String contentType;
+
+        private CachedAsset(byte[] body, String contentType) {
+            this.body = body;
+            this.contentType = contentType;
+        }
+
+        private HttpResponse toResponse() {
+            return new HttpResponse()
+                    .setStatus(200)
+                    .setHeader("Content-Type", contentType)
+                    .setHeader("Content-Length", String.valueOf(body.length))
+                    .setContent(Contents.bytes(body));
+        }
+    }
+}
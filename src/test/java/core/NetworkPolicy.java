@@ -0,0 +1,38 @@
+package core;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Network interception policy for a test class (see NetworkInterception).
+ * BaseTest carries the default policy; a suite overrides it by annotating its own class.
+ * Patterns are matched against the full request URL; '*' matches any run of characters.
+ * The "network.block" and "network.cache" system properties (comma-separated) override the lists for the whole run.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Inherited
+public @interface NetworkPolicy {
+
+    /**
+     * @return false to let every request through for this suite.
+     */
+    boolean enabled() default true;
+
+    /**
+     * @return URL patterns answered with an empty response instead of hitting the network (images, fonts, analytics).
+     */
+    String[] block() default {
+            "*.png", "*.png?*", "*.jpg", "*.jpg?*", "*.jpeg", "*.gif", "*.svg", "*.webp", "*.ico",
+            "*.woff", "*.woff2", "*.ttf", "*.otf",
+            "*google-analytics.com/*", "*googletagmanager.com/*", "*backtrace.io/*", "*events.backtrace.io*"
+    };
+
+    /**
+     * @return URL patterns served from the shared in-memory asset cache once fetched (static CSS/JS).
+     */
+    String[] cache() default {"*.css", "*.css?*", "*.js", "*.js?*"};
+}
@@ -0,0 +1,241 @@
+package core;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEventVO;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Logback appender that buffers each test's log events on its own thread and flushes them as one block when
+ * the test ends, so output from parallel tests is never interleaved.
+ * A passing test flushes only events at or above passThroughLevel (INFO by default);
+ * a failing test flushes its full trail, including DEBUG when the loggers are set to DEBUG (see logback-test.xml).
+ * A test that reaches maxEventsPerTest spills its buffer to a temporary file (one per test, deleted when the test
+ * ends) and keeps buffering, so memory stays bounded while the outcome decides what is written, spilled events
+ * included. Buffers still open when the appender stops (e.g. a hung test killed at JVM exit, see the logback
+ * shutdown hook) are flushed in full, so a test's output is never lost.
+ * Outside a test (no buffer open on the thread) events at or above passThroughLevel go straight through.
+ * Attached appenders (see logback-test.xml) receive the events; the buffer itself does no I/O.
+ * Tests open and close buffers through TestLogContextExtension.
+ */
+public class PerTestLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    // Buffer of the test running on the current thread, null when no test is running
+    private static final ThreadLocal<TestBuffer> testBuffer = new ThreadLocal<>();
+    // Every open buffer, so stop() can flush tests that never ended
+    private static final Set<TestBuffer> openBuffers = ConcurrentHashMap.newKeySet();
+    // Serializes flushes, so each test's block reaches the downstream queue contiguously
+    private static final Object flushLock = new Object();
+    // Started instances (normally just one), used by the static begin/end calls
+    private static volatile PerTestLogAppender active;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private Level passThroughLevel = Level.INFO;
+    private int maxEventsPerTest = 5000;
+
+    /**
+     * Opens a buffer for the test about to run on the current thread.
+     */
+    public static void beginTest() {
+        TestBuffer buffer = new TestBuffer();
+        testBuffer.set(buffer);
+        openBuffers.add(buffer);
+    }
+
+    /**
+     * Closes the current thread's buffer and writes it out in one block.
+     *
+     * @param failed true to flush the full trail (DEBUG included), false for passThroughLevel and above only.
+     */
+    public static void endTest(boolean failed) {
+        TestBuffer buffer = testBuffer.get();
+        testBuffer.remove();
+        if (buffer == null) {
+            return;
+        }
+        openBuffers.remove(buffer);
+        PerTestLogAppender appender = active;
+        if (appender != null) {
+            appender.flush(buffer, failed);
+        }
+    }
+
+    private void flush(TestBuffer buffer, boolean failed) {
+        synchronized (flushLock) {
+            try {
+                buffer.drain(event -> {
+                    if (failed || event.getLevel().isGreaterOrEqual(passThroughLevel)) {
+                        appenders.appendLoopOnAppenders(event);
+                    }
+                });
+            } catch (IOException e) {
+                addError("Could not read back the spilled log events of a test", e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        active = this;
+    }
+
+    @Override
+    public void stop() {
+        // Tests still running (hung, or the JVM is exiting under them): flush their full trail before the
+        // attached appenders are stopped
+        for (TestBuffer buffer : openBuffers) {
+            flush(buffer, true);
+        }
+        if (active == this) {
+            active = null;
+        }
+        appenders.detachAndStopAllAppenders();
+        super.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        TestBuffer buffer = testBuffer.get();
+        if (buffer == null) {
+            if (event.getLevel().isGreaterOrEqual(passThroughLevel)) {
+                appenders.appendLoopOnAppenders(event);
+            }
+            return;
+        }
+        event.prepareForDeferredProcessing(); // Freeze message, MDC and thread name before the event is kept
+        if (buffer.add(event) >= maxEventsPerTest) {
+            try {
+                buffer.spill(); // Long test: move the events to disk until the outcome is known
+            } catch (IOException e) {
+                addWarn("Could not spill test log events to disk, writing them out in full now", e);
+                flush(buffer, true);
+            }
+        }
+    }
+
+    // --- Configuration (set from logback-test.xml) ---
+
+    public void setPassThroughLevel(String level) {
+        this.passThroughLevel = Level.toLevel(level, Level.INFO);
+    }
+
+    public void setMaxEventsPerTest(int maxEventsPerTest) {
+        this.maxEventsPerTest = maxEventsPerTest;
+    }
+
+    // --- AppenderAttachable, delegated ---
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+
+    /**
+     * Events of one test: the latest ones in memory, older ones spilled to a temporary file.
+     * Written by the test's thread; also drained by stop() on another thread, hence synchronized.
+     */
+    private static final class TestBuffer {
+
+        private List<ILoggingEvent> events = new ArrayList<>();
+        private Path spillFile;
+        private ObjectOutputStream spillOut;
+
+        private synchronized int add(ILoggingEvent event) {
+            events.add(event);
+            return events.size();
+        }
+
+        /**
+         * Appends the in-memory events to the spill file (created on first use) and clears them.
+         */
+        private synchronized void spill() throws IOException {
+            if (spillOut == null) {
+                spillFile = Files.createTempFile("test-log-", ".spill");
+                spillOut = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile)));
+            }
+            for (ILoggingEvent event : events) {
+                spillOut.writeObject(LoggingEventVO.build(event));
+            }
+            spillOut.reset(); // Don't keep every written event referenced by the stream
+            events = new ArrayList<>();
+        }
+
+        /**
+         * Hands every event to the consumer, oldest first (spilled ones, then the in-memory ones), and empties the
+         * buffer. The spill file is deleted.
+         */
+        private synchronized void drain(Consumer<ILoggingEvent> consumer) throws IOException {
+            List<ILoggingEvent> inMemory = events;
+            events = new ArrayList<>();
+            try {
+                if (spillOut != null) {
+                    spillOut.close();
+                    spillOut = null;
+                    try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(spillFile)))) {
+                        while (true) {
+                            consumer.accept((ILoggingEvent) in.readObject());
+                        }
+                    } catch (EOFException e) {
+                        // All spilled events read
+                    } catch (ClassNotFoundException e) {
+                        throw new IOException(e);
+                    } finally {
+                        Files.deleteIfExists(spillFile);
+                        spillFile = null;
+                    }
+                }
+            } finally {
+                inMemory.forEach(consumer); // Even if the spill file was unreadable
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Recorded values of budgeted metrics (see PerformanceBudgets), kept in a properties file with one line per metric:
+ * "SuccessfulPurchaseTest.successfulPurchaseFlow.wallMillis=8400".
+ * A metric is over budget when it exceeds its absolute limit, or its baseline * (1 + tolerance) rounded up; results
+ * well under baseline * (1 - tolerance) are logged so the baseline can be tightened. Tolerance comes from the
+ * annotation or "budget.tolerance" (default 0.25).
+ * In update mode only the absolute limits apply, and a measurement within them is recorded as the new baseline.
+ */
+public class PerformanceBaseline {
+
+    private static final Logger log = LoggerFactory.getLogger(PerformanceBaseline.class);
+
+    private static final double DEFAULT_TOLERANCE = Double.parseDouble(System.getProperty("budget.tolerance", "0.25"));
+
+    private final Path file;
+    private final boolean updating;
+    private final Properties values;
+
+    private PerformanceBaseline(Path file, boolean updating, Properties values) {
+        this.file = file;
+        this.updating = updating;
+        this.values = values;
+    }
+
+    /**
+     * Loads a baseline file.
+     *
+     * @param file     The baseline file; a missing or unreadable file means no baseline (absolute limits only).
+     * @param updating True to record measurements within their absolute limits instead of checking the baseline.
+     * @return The baseline.
+     */
+    public static PerformanceBaseline load(Path file, boolean updating) {
+        Properties values;
+        try {
+            values = PropertiesFiles.read(file);
+            log.debug("Loaded {} performance baseline value(s) from {}", values.size(), file.toAbsolutePath());
+        } catch (IOException e) {
+            values = new Properties();
+            log.warn("Could not read performance baseline {}, checking absolute budgets only.", file, e);
+        }
+        return new PerformanceBaseline(file, updating, values);
+    }
+
+    /**
+     * Checks one measurement against a budget and this baseline; in update mode, records it if within the budget.
+     *
+     * @param key        Name of the measured test or transition (e.g. "CartPage.clickCheckout"), the baseline key prefix.
+     * @param budget     The declared budget.
+     * @param wallMillis Measured wall-clock time.
+     * @param commands   Measured WebDriver commands.
+     * @param waitMillis Measured SmartWait time.
+     * @return One message per exceeded limit; empty if within budget.
+     */
+    public List<String> check(String key, PerformanceBudget budget, long wallMillis, long commands, long waitMillis) {
+        double tolerance = budget.tolerance() >= 0 ? budget.tolerance() : DEFAULT_TOLERANCE;
+        List<String> violations = new ArrayList<>();
+        checkMetric(key, "wallMillis", wallMillis, budget.wallMillis(), tolerance, violations);
+        checkMetric(key, "commands", commands, budget.commands(), tolerance, violations);
+        checkMetric(key, "waitMillis", waitMillis, budget.waitMillis(), tolerance, violations);
+        log.info("Performance of {}: {} ms wall, {} command(s), {} ms waiting{}", key, wallMillis, commands, waitMillis,
+                violations.isEmpty() ? " (within budget)" : "");
+        if (violations.isEmpty() && updating) {
+            record(key, wallMillis, commands, waitMillis);
+        }
+        return violations;
+    }
+
+    private void checkMetric(String key, String metric, long value, long limit, double tolerance, List<String> violations) {
+        if (limit >= 0 && value > limit) {
+            violations.add(String.format("%s %s = %d exceeds the budget of %d", key, metric, value, limit));
+        }
+        String recorded = values.getProperty(key + "." + metric);
+        if (recorded == null || updating) { // While re-recording, only the absolute limits apply
+            return;
+        }
+        long baselineValue = Long.parseLong(recorded.trim());
+        long upper = (long) Math.ceil(baselineValue * (1 + tolerance));
+        if (value > upper) {
+            violations.add(String.format("%s %s = %d exceeds baseline %d + %.0f%% (%d)", key, metric, value, baselineValue, tolerance * 100, upper));
+        } else if (value < baselineValue * (1 - tolerance)) {
+            log.info("{} {} = {} is well under baseline {}, consider updating it (-Dbudget.updateBaseline=true)", key, metric, value, baselineValue);
+        }
+    }
+
+    /**
+     * Records one key's values. Shard JVMs may re-record at the same time, so only this key's lines are merged into
+     * the file's current content, under a file lock, and the file is replaced atomically (see PropertiesFiles).
+     */
+    private synchronized void record(String key, long wallMillis, long commands, long waitMillis) {
+        Properties measured = new Properties();
+        measured.setProperty(key + ".wallMillis", String.valueOf(wallMillis));
+        measured.setProperty(key + ".commands", String.valueOf(commands));
+        measured.setProperty(key + ".waitMillis", String.valueOf(waitMillis));
+        values.putAll(measured);
+        try {
+            PropertiesFiles.update(file, "Performance baselines (see core.PerformanceBudgets)", current -> current.putAll(measured));
+        } catch (IOException e) {
+            log.error("Could not write performance baseline {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package core;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Performance budget of a test method or of a page transition method (a page object method that calls
+ * BasePage.transition), checked by PerformanceBudgets after it ran.
+ * Three metrics are measured on the test's thread: wall-clock time, WebDriver commands sent (CommandStats) and
+ * time spent waiting in SmartWait. Each is checked against the absolute limit declared here (if any) and against
+ * the recorded baseline plus the tolerance (if the baseline file has a value for it, see PerformanceBudgets).
+ * Transition budgets are reported as failures of the test that ran the transition.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface PerformanceBudget {
+
+    /**
+     * @return Maximum wall-clock time in milliseconds, -1 for none.
+     */
+    long wallMillis() default -1;
+
+    /**
+     * @return Maximum number of WebDriver commands, -1 for none.
+     */
+    long commands() default -1;
+
+    /**
+     * @return Maximum time spent waiting in SmartWait in milliseconds, -1 for none.
+     */
+    long waitMillis() default -1;
+
+    /**
+     * @return Allowed excess over the baseline (0.25 = 25%), -1 for the "budget.tolerance" default.
+     */
+    double tolerance() default -1;
+
+    /**
+     * @return true to only log a warning when the budget is exceeded, instead of failing the test.
+     */
+    boolean warnOnly() default false;
+}
@@ -0,0 +1,50 @@
+package core;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * JUnit 5 extension that enforces performance budgets (see PerformanceBudget, PerformanceBudgets).
+ * Measures the test method itself (not setUp/tearDown) when it carries @PerformanceBudget, and collects the
+ * budget violations of the page transitions it runs. An exceeded budget fails the test with every violation
+ * listed, or only logs a warning with warnOnly. Tests that already failed are not checked again.
+ */
+public class PerformanceBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final Logger log = LoggerFactory.getLogger(PerformanceBudgetExtension.class);
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(PerformanceBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        PerformanceBudgets.beginTest();
+        context.getStore(NAMESPACE).put("probe", PerformanceBudgets.start());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        PerformanceBudgets.Probe probe = context.getStore(NAMESPACE).remove("probe", PerformanceBudgets.Probe.class);
+        List<String> violations = PerformanceBudgets.endTest();
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        PerformanceBudget budget = context.getRequiredTestMethod().getAnnotation(PerformanceBudget.class);
+        if (budget != null) {
+            String key = context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName();
+            List<String> testViolations = PerformanceBudgets.check(key, budget, probe);
+            if (budget.warnOnly()) {
+                testViolations.forEach(violation -> log.warn("Performance budget exceeded: {}", violation));
+            } else {
+                violations.addAll(testViolations);
+            }
+        }
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Performance budget exceeded:\n - " + String.join("\n - ", violations));
+        }
+    }
+}
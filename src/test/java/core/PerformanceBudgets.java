@@ -0,0 +1,139 @@
+package core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures and checks performance budgets (see PerformanceBudget).
+ * Measurements are checked against the run's PerformanceBaseline, loaded from "budget.baseline" (default
+ * performance-baseline.properties).
+ * Run with -Dbudget.updateBaseline=true to record the measured values of budgeted tests and transitions within
+ * their absolute limits as the new baseline.
+ */
+public class PerformanceBudgets {
+
+    private static final Logger log = LoggerFactory.getLogger(PerformanceBudgets.class);
+
+    private static final boolean UPDATE_BASELINE = Boolean.getBoolean("budget.updateBaseline");
+
+    // The run's baseline, loaded on first use
+    private static PerformanceBaseline baseline;
+
+    // Budgeted methods per page class, by method name (looked up once per class)
+    private static final ClassValue<Map<String, PerformanceBudget>> transitionBudgets = new ClassValue<Map<String, PerformanceBudget>>() {
+        @Override
+        protected Map<String, PerformanceBudget> computeValue(Class<?> pageClass) {
+            Map<String, PerformanceBudget> budgets = new HashMap<>();
+            for (Class<?> type = pageClass; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Method method : type.getDeclaredMethods()) {
+                    if (method.isAnnotationPresent(PerformanceBudget.class)) {
+                        budgets.putIfAbsent(method.getName(), method.getAnnotation(PerformanceBudget.class));
+                    }
+                }
+            }
+            return budgets;
+        }
+    };
+
+    // Transition budget violations of the test running on the current thread, null outside a test
+    private static final ThreadLocal<List<String>> testViolations = new ThreadLocal<>();
+
+    /**
+     * Counters of the current thread at one point in time.
+     */
+    public static final class Probe {
+
+        private final long startNanos = System.nanoTime();
+        private final long commands = CommandStats.threadCommandCount();
+        private final long waitNanos = SmartWait.threadWaitNanos();
+    }
+
+    /**
+     * @return The current thread's counters, to measure what happens from now on.
+     */
+    public static Probe start() {
+        return new Probe();
+    }
+
+    /**
+     * Checks what happened on this thread since the probe against a budget.
+     *
+     * @param key    Name of the measured test or transition (e.g. "CartPage.clickCheckout"), the baseline key prefix.
+     * @param budget The declared budget.
+     * @param probe  Counters taken when the measurement started.
+     * @return One message per exceeded limit; empty if within budget.
+     */
+    public static List<String> check(String key, PerformanceBudget budget, Probe probe) {
+        long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - probe.startNanos);
+        long commands = CommandStats.threadCommandCount() - probe.commands;
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(SmartWait.threadWaitNanos() - probe.waitNanos);
+        return baseline().check(key, budget, wallMillis, commands, waitMillis);
+    }
+
+    /**
+     * Starts collecting transition budget violations for the test about to run on the current thread.
+     */
+    public static void beginTest() {
+        testViolations.set(new ArrayList<>());
+    }
+
+    /**
+     * @return The transition budget violations collected since beginTest(); stops collecting.
+     */
+    public static List<String> endTest() {
+        List<String> violations = testViolations.get();
+        testViolations.remove();
+        return violations == null ? new ArrayList<>() : violations;
+    }
+
+    /**
+     * @return True if any method of the page class (or its superclasses) declares a budget.
+     */
+    public static boolean hasBudgetedMethods(Class<?> pageClass) {
+        return !transitionBudgets.get(pageClass).isEmpty();
+    }
+
+    /**
+     * Checks a finished page transition against the budget of the page method that triggered it, if any.
+     * Violations fail the running test (unless warnOnly); outside a test they are only logged.
+     *
+     * @param pageClass  The page the transition started from.
+     * @param methodName The page method that called BasePage.transition.
+     * @param probe      Counters taken when the transition started.
+     */
+    public static void checkTransition(Class<?> pageClass, String methodName, Probe probe) {
+        PerformanceBudget budget = transitionBudgets.get(pageClass).get(methodName);
+        if (budget == null) {
+            return;
+        }
+        List<String> violations = check(pageClass.getSimpleName() + "." + methodName, budget, probe);
+        List<String> collected = testViolations.get();
+        for (String violation : violations) {
+            log.warn("Performance budget exceeded: {}", violation);
+            if (!budget.warnOnly() && collected != null) {
+                collected.add(violation);
+            }
+        }
+    }
+
+    private static synchronized PerformanceBaseline baseline() {
+        if (baseline == null) {
+            baseline = PerformanceBaseline.load(Paths.get(System.getProperty("budget.baseline", "performance-baseline.properties")),
+                    UPDATE_BASELINE);
+        }
+        return baseline;
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private PerformanceBudgets() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
@@ -0,0 +1,76 @@
+package core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * Properties files shared by several JVMs at once (e.g. the shards started by scripts/run-shards.sh).
+ * Updates are read-modify-write under an exclusive lock on a sibling ".lock" file, so concurrent writers merge
+ * instead of overwriting each other, and the new content replaces the file with an atomic move, so readers
+ * (which take no lock) see either the old or the new file, never a truncated one.
+ */
+public class PropertiesFiles {
+
+    /**
+     * Reads a properties file.
+     *
+     * @param file The file.
+     * @return Its properties, empty if the file does not exist.
+     */
+    public static Properties read(Path file) throws IOException {
+        Properties properties = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Applies changes to the current content of a properties file and writes it back atomically.
+     * Synchronized because a JVM cannot hold two locks on the same file: threads queue here, other JVMs on the lock.
+     *
+     * @param file    The file (created with its parent directories if missing).
+     * @param comment Header comment of the written file.
+     * @param changes Applied to the content read under the lock.
+     */
+    public static synchronized void update(Path file, String comment, Consumer<Properties> changes) throws IOException {
+        Path target = file.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path lockFile = target.resolveSibling(target.getFileName() + ".lock");
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            Properties properties = read(target);
+            changes.accept(properties);
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    properties.store(out, comment);
+                }
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING); // Still serialized by the lock
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private PropertiesFiles() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
@@ -0,0 +1,70 @@
+package core;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-session objects shared by every page object of the current thread's WebDriver session:
+ * one SmartWait, and the page objects themselves (see pages.Pages), created on first use and reused for the
+ * rest of the session. A page object holds no state of its own beyond its element cache, so one instance per
+ * page class and session is enough; transitions then allocate nothing.
+ * The context follows the thread's driver: a different driver (new session from the pool) gets a new context,
+ * and DriverManager drops it when the driver is released.
+ */
+public class SessionContext {
+
+    private static final ThreadLocal<SessionContext> currentContext = new ThreadLocal<>();
+
+    private final WebDriver driver;
+    private final SmartWait wait;
+    private final Map<Class<?>, Object> pages = new HashMap<>();
+
+    private SessionContext(WebDriver driver) {
+        this.driver = driver;
+        this.wait = new SmartWait(driver);
+    }
+
+    /**
+     * @return The context of the current thread's driver, created on first use.
+     * @throws IllegalStateException if the thread has no driver (see DriverManager.getDriver()).
+     */
+    public static SessionContext current() {
+        WebDriver driver = DriverManager.getDriver();
+        SessionContext context = currentContext.get();
+        if (context == null || context.driver != driver) {
+            context = new SessionContext(driver);
+            currentContext.set(context);
+        }
+        return context;
+    }
+
+    /**
+     * Drops the current thread's context (its page objects belong to a session that is no longer ours).
+     */
+    public static void clear() {
+        currentContext.remove();
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public SmartWait getWait() {
+        return wait;
+    }
+
+    /**
+     * @return This session's instance of the page class, created by the factory on first request.
+     */
+    public <T> T page(Class<T> type, Supplier<? extends T> factory) {
+        Object page = pages.get(type);
+        if (page == null) {
+            page = factory.get();
+            pages.put(type, page);
+        }
+        return type.cast(page);
+    }
+}
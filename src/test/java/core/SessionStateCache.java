@@ -0,0 +1,160 @@
+package core;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM-wide cache of authenticated browser state (cookies and localStorage), keyed by username.
+ * State is captured after the first real UI login and injected into later sessions, so tests can skip the login form.
+ * Entries expire after "session.cache.ttlSeconds" (default 600) or when their earliest cookie expires,
+ * and callers invalidate them when the application rejects the injected state.
+ */
+public class SessionStateCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionStateCache.class);
+
+    private static final long DEFAULT_TTL_SECONDS = 600;
+
+    // Reads every localStorage entry of the current origin into a plain object
+    private static final String READ_LOCAL_STORAGE_SCRIPT =
+            "var state = {};"
+                    + "for (var i = 0; i < window.localStorage.length; i++) {"
+                    + "  var key = window.localStorage.key(i);"
+                    + "  state[key] = window.localStorage.getItem(key);"
+                    + "}"
+                    + "return state;";
+
+    // Writes the given key/value object into localStorage of the current origin
+    private static final String WRITE_LOCAL_STORAGE_SCRIPT =
+            "var state = arguments[0];"
+                    + "for (var key in state) { window.localStorage.setItem(key, state[key]); }";
+
+    private static final Map<String, SessionState> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Captures the authenticated state of the given driver for a user.
+     * Call it right after a successful UI login, while the browser is on the application's origin.
+     *
+     * @param driver   The driver holding the logged-in session.
+     * @param username The user the state belongs to.
+     */
+    public static void capture(WebDriver driver, String username) {
+        try {
+            Set<Cookie> cookies = new HashSet<>(driver.manage().getCookies());
+            Map<String, String> localStorage = readLocalStorage(driver);
+            Instant expiresAt = computeExpiry(cookies);
+            cache.put(username, new SessionState(cookies, localStorage, expiresAt));
+            log.info("Captured session state for user '{}' ({} cookie(s), {} localStorage entr(ies), expires at {})",
+                    username, cookies.size(), localStorage.size(), expiresAt);
+        } catch (Exception e) {
+            // A failed capture only costs a UI login later, never fail the test for it
+            log.warn("Could not capture session state for user '{}'.", username, e);
+        }
+    }
+
+    /**
+     * Injects the cached state for a user into the given driver.
+     * The driver must already be on the application's origin, since cookies and storage are per origin.
+     *
+     * @param driver   The driver to inject the state into.
+     * @param username The user whose state should be restored.
+     * @return true if a valid entry was found and injected, false if the caller should log in through the UI.
+     */
+    public static boolean restore(WebDriver driver, String username) {
+        SessionState state = cache.get(username);
+        if (state == null) {
+            log.debug("No cached session state for user '{}'.", username);
+            return false;
+        }
+        if (Instant.now().isAfter(state.expiresAt)) {
+            log.info("Cached session state for user '{}' expired at {}.", username, state.expiresAt);
+            invalidate(username);
+            return false;
+        }
+        try {
+            for (Cookie cookie : state.cookies) {
+                // Rebuild without the domain, so the cookie binds to whatever host the current origin uses
+                driver.manage().addCookie(new Cookie.Builder(cookie.getName(), cookie.getValue())
+                        .path(cookie.getPath())
+                        .expiresOn(cookie.getExpiry())
+                        .isSecure(cookie.isSecure())
+                        .isHttpOnly(cookie.isHttpOnly())
+                        .build());
+            }
+            ((JavascriptExecutor) driver).executeScript(WRITE_LOCAL_STORAGE_SCRIPT, state.localStorage);
+            log.info("Restored cached session state for user '{}'.", username);
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not inject cached session state for user '{}', invalidating it.", username, e);
+            invalidate(username);
+            return false;
+        }
+    }
+
+    /**
+     * Removes the cached state for a user, e.g. after the application rejected it.
+     *
+     * @param username The user whose state should be dropped.
+     */
+    public static void invalidate(String username) {
+        if (cache.remove(username) != null) {
+            log.info("Invalidated cached session state for user '{}'.", username);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> readLocalStorage(WebDriver driver) {
+        Object result = ((JavascriptExecutor) driver).executeScript(READ_LOCAL_STORAGE_SCRIPT);
+        Map<String, String> localStorage = new HashMap<>();
+        if (result instanceof Map) {
+            ((Map<String, Object>) result).forEach((key, value) -> localStorage.put(key, String.valueOf(value)));
+        }
+        return localStorage;
+    }
+
+    /**
+     * The entry lives for the configured TTL, or until the first of its cookies expires if that is sooner.
+     */
+    private static Instant computeExpiry(Set<Cookie> cookies) {
+        Instant expiresAt = Instant.now().plus(Duration.ofSeconds(Long.getLong("session.cache.ttlSeconds", DEFAULT_TTL_SECONDS)));
+        for (Cookie cookie : cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().toInstant().isBefore(expiresAt)) {
+                expiresAt = cookie.getExpiry().toInstant();
+            }
+        }
+        return expiresAt;
+    }
+
+    /**
+     * Immutable snapshot of one user's authenticated state.
+     */
+    private static final class SessionState {
+
+        private final Set<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Instant expiresAt;
+
+        private SessionState(Set<Cookie> cookies, Map<String, String> localStorage, Instant expiresAt) {
+            this.cookies = Collections.unmodifiableSet(cookies);
+            this.localStorage = Collections.unmodifiableMap(localStorage);
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private SessionStateCache() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
@@ -0,0 +1,69 @@
+package core;
+
+/**
+ * Shard of the current JVM when a suite is split across processes or containers.
+ * Set with -Dshard.index (0-based) and -Dshard.count; without them the run is a single shard 0 of 1.
+ * Test classes are assigned to shards by ShardFilter; classes annotated @SplitAcrossShards run on every shard
+ * and split their data rows instead (see ownsRow).
+ */
+public class Shard {
+
+    private static final int COUNT = Math.max(1, Integer.getInteger("shard.count", 1));
+    private static final int INDEX = Integer.getInteger("shard.index", 0);
+
+    static {
+        if (INDEX < 0 || INDEX >= COUNT) {
+            throw new IllegalStateException("shard.index must be between 0 and " + (COUNT - 1) + " (was " + INDEX + ")");
+        }
+    }
+
+    public static int index() {
+        return INDEX;
+    }
+
+    public static int count() {
+        return COUNT;
+    }
+
+    /**
+     * @return true if the run is split into more than one shard.
+     */
+    public static boolean isActive() {
+        return COUNT > 1;
+    }
+
+    /**
+     * Decides whether a data row belongs to this shard. Rows are dealt round-robin, since rows of one
+     * data-driven test take about the same time each.
+     *
+     * @param rowNumber 1-based row number.
+     * @return true if this shard should run the row.
+     */
+    public static boolean ownsRow(int rowNumber) {
+        return ownsRow(rowNumber, INDEX, COUNT);
+    }
+
+    /**
+     * Same as ownsRow(rowNumber) for an explicit shard.
+     *
+     * @param rowNumber  1-based row number.
+     * @param shardIndex 0-based shard index.
+     * @param shardCount Number of shards.
+     * @return true if that shard should run the row.
+     */
+    public static boolean ownsRow(int rowNumber, int shardIndex, int shardCount) {
+        return (rowNumber - 1) % shardCount == shardIndex;
+    }
+
+    /**
+     * @return "shard i of k", for logs and file names.
+     */
+    public static String describe() {
+        return "shard " + INDEX + " of " + COUNT;
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private Shard() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
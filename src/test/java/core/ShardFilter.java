@@ -0,0 +1,109 @@
+package core;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps only the test classes assigned to this JVM's shard (see Shard, ShardPlanner).
+ * Registered through META-INF/services, so it applies to every launch; it includes everything unless
+ * -Dshard.count is greater than 1. The plan is built from all top-level classes discovered under the
+ * same engine, so every shard sees the same class list and computes the same plan.
+ * Classes annotated @SplitAcrossShards are kept on every shard.
+ * Every descriptor (test methods included) is judged by its top-level class: the launcher only prunes a class
+ * container once all its tests were excluded.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardFilter.class);
+
+    // Plan per engine root, built on the first class seen under it
+    private TestDescriptor plannedRoot;
+    private Map<String, Integer> plan;
+
+    @Override
+    public synchronized FilterResult apply(TestDescriptor descriptor) {
+        if (!Shard.isActive()) {
+            return FilterResult.included("sharding disabled");
+        }
+        TestDescriptor topLevelClass = topLevelClass(descriptor);
+        if (topLevelClass == null) {
+            return FilterResult.included("not part of a test class");
+        }
+        Optional<ClassSource> source = classSource(topLevelClass);
+        if (isSplitAcrossShards(source.get())) {
+            return FilterResult.included("split across all shards");
+        }
+        TestDescriptor root = root(descriptor);
+        if (root != plannedRoot) {
+            plan = ShardPlanner.plan(topLevelClasses(root), ShardPlanner.loadHistory(ShardPlanner.historyFile()), Shard.count());
+            plannedRoot = root;
+        }
+        Integer shard = plan.get(source.get().getClassName());
+        if (shard != null && shard == Shard.index()) {
+            return FilterResult.included("assigned to " + Shard.describe());
+        }
+        if (descriptor == topLevelClass) {
+            log.debug("Skipping {} on {} (assigned to shard {})", source.get().getClassName(), Shard.describe(), shard);
+        }
+        return FilterResult.excluded("assigned to shard " + shard);
+    }
+
+    private static Optional<ClassSource> classSource(TestDescriptor descriptor) {
+        Optional<TestSource> source = descriptor.getSource();
+        return source.filter(ClassSource.class::isInstance).map(ClassSource.class::cast);
+    }
+
+    private static boolean isSplitAcrossShards(ClassSource source) {
+        try {
+            return source.getJavaClass().isAnnotationPresent(SplitAcrossShards.class);
+        } catch (RuntimeException e) {
+            return false; // Class not loadable here: treat it as a regular class
+        }
+    }
+
+    /**
+     * The outermost ancestor-or-self with a class source, or null (engine descriptors).
+     */
+    private static TestDescriptor topLevelClass(TestDescriptor descriptor) {
+        TestDescriptor found = null;
+        for (TestDescriptor current = descriptor; current != null; current = current.getParent().orElse(null)) {
+            if (classSource(current).isPresent()) {
+                found = current;
+            }
+        }
+        return found;
+    }
+
+    private static TestDescriptor root(TestDescriptor descriptor) {
+        TestDescriptor current = descriptor;
+        while (current.getParent().isPresent()) {
+            current = current.getParent().get();
+        }
+        return current;
+    }
+
+    /**
+     * Top-level classes under the root that are distributed by the plan (split classes are not).
+     */
+    private static List<String> topLevelClasses(TestDescriptor root) {
+        List<String> classes = new ArrayList<>();
+        for (TestDescriptor child : root.getDescendants()) {
+            Optional<ClassSource> source = classSource(child);
+            if (source.isPresent() && !child.getParent().flatMap(ShardFilter::classSource).isPresent()
+                    && !isSplitAcrossShards(source.get())) {
+                classes.add(source.get().getClassName());
+            }
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,128 @@
+package core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Splits test classes into shards of about equal duration, using the class durations recorded by previous runs
+ * (history file from "shard.history", default shard-history.properties, written by ShardReportMerger).
+ * Longest-processing-time-first: classes are sorted by expected duration and each goes to the currently
+ * lightest shard. Classes without history are estimated at the mean of the known ones.
+ * The plan only depends on its inputs, so every shard JVM computes the same one independently.
+ */
+public class ShardPlanner {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardPlanner.class);
+
+    public static final String DEFAULT_HISTORY = "shard-history.properties";
+    // Estimate for a class when there is no history at all
+    private static final long DEFAULT_CLASS_MILLIS = 30_000;
+
+    /**
+     * @return The history file used by this run.
+     */
+    public static Path historyFile() {
+        return Paths.get(System.getProperty("shard.history", DEFAULT_HISTORY));
+    }
+
+    /**
+     * Assigns every class to a shard.
+     *
+     * @param classes    Fully qualified names of the test classes to distribute.
+     * @param durations  Historical duration per class in milliseconds (may be empty).
+     * @param shardCount Number of shards.
+     * @return Shard index per class.
+     */
+    public static Map<String, Integer> plan(Collection<String> classes, Map<String, Long> durations, int shardCount) {
+        long fallback = Math.round(durations.values().stream().mapToLong(Long::longValue).average().orElse(DEFAULT_CLASS_MILLIS));
+        List<String> ordered = new ArrayList<>(classes);
+        // Longest first; name as tie-breaker so every JVM builds the same plan
+        ordered.sort(Comparator.comparingLong((String name) -> durations.getOrDefault(name, fallback)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        long[] loads = new long[shardCount];
+        PriorityQueue<Integer> lightest = new PriorityQueue<>(
+                Comparator.comparingLong((Integer shard) -> loads[shard]).thenComparingInt(shard -> shard));
+        for (int shard = 0; shard < shardCount; shard++) {
+            lightest.add(shard);
+        }
+        Map<String, Integer> assignment = new TreeMap<>();
+        for (String name : ordered) {
+            int shard = lightest.poll();
+            assignment.put(name, shard);
+            loads[shard] += durations.getOrDefault(name, fallback);
+            lightest.add(shard);
+        }
+        if (log.isInfoEnabled()) {
+            List<String> summary = new ArrayList<>();
+            for (int shard = 0; shard < shardCount; shard++) {
+                summary.add("#" + shard + "=" + loads[shard] / 1000 + "s");
+            }
+            log.info("Planned {} class(es) over {} shard(s), expected load per shard: {} ({} class(es) without history)",
+                    ordered.size(), shardCount, summary, ordered.stream().filter(name -> !durations.containsKey(name)).count());
+        }
+        return assignment;
+    }
+
+    /**
+     * Reads the class durations recorded by previous runs.
+     *
+     * @param file History file (class name = milliseconds).
+     * @return Durations per class; empty if the file does not exist or cannot be read.
+     */
+    public static Map<String, Long> loadHistory(Path file) {
+        Map<String, Long> durations = new HashMap<>();
+        if (!Files.isRegularFile(file)) {
+            log.info("No shard history at {}, all classes get the same estimate.", file.toAbsolutePath());
+            return durations;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            log.warn("Could not read shard history {}", file, e);
+            return durations;
+        }
+        for (String name : properties.stringPropertyNames()) {
+            try {
+                durations.put(name, Long.parseLong(properties.getProperty(name).trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring invalid shard history entry {}={}", name, properties.getProperty(name));
+            }
+        }
+        return durations;
+    }
+
+    /**
+     * Records class durations in the history for the next runs. The given classes are merged into the file's current
+     * content (latest run wins, other classes keep their duration) and the file is replaced atomically, so an
+     * interrupted write never leaves an empty or partial history (see PropertiesFiles).
+     *
+     * @param file      History file.
+     * @param durations Duration per class in milliseconds.
+     */
+    public static void saveHistory(Path file, Map<String, Long> durations) throws IOException {
+        PropertiesFiles.update(file, "Test class durations in ms, used to balance shards (see ShardPlanner)",
+                history -> durations.forEach((name, millis) -> history.setProperty(name, String.valueOf(millis))));
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private ShardPlanner() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
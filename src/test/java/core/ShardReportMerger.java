@@ -0,0 +1,120 @@
+package core;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Merges the per-shard files written by ShardTimingListener into one report, and updates the duration history
+ * used by ShardPlanner to balance the next run.
+ * Run after all shards finished, e.g. mvn -Pshard-merge exec:java@merge-shards (see scripts/run-shards.sh).
+ * Reads "shard.reportDir" (default target/shards); writes merged-report.json there and the history file
+ * ("shard.history"). Fails (throws, which exec:java reports as a build failure) if any test failed, or if no
+ * shard file was found.
+ */
+public class ShardReportMerger {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardReportMerger.class);
+
+    public static void main(String[] args) throws IOException {
+        mergeAndRecord(Paths.get(System.getProperty("shard.reportDir", "target/shards")), ShardPlanner.historyFile());
+    }
+
+    /**
+     * Merges the shard files, writes merged-report.json and records the class durations in the history.
+     *
+     * @param dir         Directory with the shard files.
+     * @param historyFile ShardPlanner history file to update.
+     * @return The merged report.
+     * @throws IllegalStateException if there are no shard files, or if any test failed (after writing both files).
+     */
+    public static Map<String, Object> mergeAndRecord(Path dir, Path historyFile) throws IOException {
+        Map<String, Object> merged = merge(dir);
+        if (merged == null) {
+            throw new IllegalStateException("No shard files (shard-*.json) found in " + dir.toAbsolutePath());
+        }
+        Files.write(dir.resolve("merged-report.json"), new Json().toJson(merged).getBytes(StandardCharsets.UTF_8));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Long> classMillis = (Map<String, Long>) merged.get("classMillis");
+        ShardPlanner.saveHistory(historyFile, classMillis); // Latest run wins; classes that didn't run keep their old duration
+
+        log.info("Merged {} shard(s): {} test(s), {} failed, {} skipped. Shard wall times (ms): {}, slowest/fastest = {}",
+                merged.get("shards"), merged.get("tests"), merged.get("failed"), merged.get("skipped"),
+                merged.get("shardWallMillis"), String.format("%.2f", (Double) merged.get("imbalance")));
+        log.info("Merged report: {}, history updated: {}", dir.resolve("merged-report.json").toAbsolutePath(),
+                historyFile.toAbsolutePath());
+        if ((Long) merged.get("failed") > 0) {
+            // No System.exit: exec:java runs in Maven's own JVM, an exception becomes a proper BUILD FAILURE
+            throw new IllegalStateException(merged.get("failed") + " test(s) failed across the shards, see "
+                    + dir.resolve("merged-report.json").toAbsolutePath());
+        }
+        return merged;
+    }
+
+    /**
+     * Merges every shard-*.json file in the directory.
+     *
+     * @param dir Directory with the shard files.
+     * @return The merged report, or null if there are no shard files.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> merge(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return null;
+        }
+        Json json = new Json();
+        Map<String, Long> classMillis = new TreeMap<>();
+        Map<String, Long> shardWallMillis = new TreeMap<>();
+        List<Map<String, Object>> results = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "shard-*.json")) {
+            for (Path file : files) {
+                Map<String, Object> shard = json.toType(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Json.MAP_TYPE);
+                shardWallMillis.put(String.valueOf(shard.get("shardIndex")), ((Number) shard.get("wallMillis")).longValue());
+                // A class split across shards ran partly on each: its total duration is the sum
+                ((Map<String, Object>) shard.get("classMillis")).forEach(
+                        (name, millis) -> classMillis.merge(name, ((Number) millis).longValue(), Long::sum));
+                for (Object result : (List<Object>) shard.get("results")) {
+                    Map<String, Object> row = new LinkedHashMap<>((Map<String, Object>) result);
+                    row.put("shard", shard.get("shardIndex"));
+                    results.add(row);
+                }
+            }
+        }
+        if (shardWallMillis.isEmpty()) {
+            return null;
+        }
+        long failed = results.stream().filter(row -> "FAILED".equals(row.get("status")) || "ABORTED".equals(row.get("status"))).count();
+        long skipped = results.stream().filter(row -> "SKIPPED".equals(row.get("status"))).count();
+        long slowest = shardWallMillis.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        long fastest = shardWallMillis.values().stream().mapToLong(Long::longValue).min().orElse(0);
+
+        Map<String, Object> merged = new LinkedHashMap<>();
+        merged.put("shards", shardWallMillis.size());
+        merged.put("tests", (long) results.size());
+        merged.put("failed", failed);
+        merged.put("skipped", skipped);
+        merged.put("shardWallMillis", shardWallMillis);
+        merged.put("imbalance", fastest == 0 ? 1.0 : (double) slowest / fastest);
+        merged.put("classMillis", classMillis);
+        merged.put("results", results);
+        return merged;
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private ShardReportMerger() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
@@ -0,0 +1,115 @@
+package core;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records this shard's results and class durations and writes them, when the run ends, to
+ * "shard.reportDir" (default target/shards) as shard-&lt;index&gt;-of-&lt;count&gt;.json.
+ * ShardReportMerger merges these files into one report and into the duration history used by ShardPlanner.
+ * Registered through META-INF/services; an unsharded run writes shard-0-of-1.json.
+ */
+public class ShardTimingListener implements TestExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardTimingListener.class);
+
+    private final Map<String, Long> startNanos = new ConcurrentHashMap<>();
+    private final Map<String, Long> classMillis = new ConcurrentHashMap<>();
+    private final List<Map<String, Object>> results = Collections.synchronizedList(new ArrayList<>());
+    private volatile long planStartNanos;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        planStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        startNanos.put(testIdentifier.getUniqueId(), System.nanoTime());
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        Long start = startNanos.remove(testIdentifier.getUniqueId());
+        long millis = start == null ? 0 : (System.nanoTime() - start) / 1_000_000;
+        Optional<TestSource> source = testIdentifier.getSource();
+        if (source.isPresent() && source.get() instanceof ClassSource && testIdentifier.isContainer()) {
+            classMillis.merge(((ClassSource) source.get()).getClassName(), millis, Long::sum);
+        }
+        if (testIdentifier.isTest()) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("test", describe(testIdentifier));
+            result.put("status", testExecutionResult.getStatus().name());
+            result.put("millis", millis);
+            testExecutionResult.getThrowable().ifPresent(error -> result.put("error", String.valueOf(error)));
+            results.add(result);
+        }
+    }
+
+    @Override
+    public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+        if (testIdentifier.isTest()) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("test", describe(testIdentifier));
+            result.put("status", "SKIPPED");
+            result.put("millis", 0L);
+            result.put("error", reason);
+            results.add(result);
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (classMillis.isEmpty() && results.isEmpty()) {
+            return;
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("shardIndex", Shard.index());
+        report.put("shardCount", Shard.count());
+        report.put("wallMillis", (System.nanoTime() - planStartNanos) / 1_000_000);
+        report.put("classMillis", new TreeMap<>(classMillis));
+        synchronized (results) {
+            report.put("results", new ArrayList<>(results));
+        }
+        Path dir = Paths.get(System.getProperty("shard.reportDir", "target/shards"));
+        Path file = dir.resolve("shard-" + Shard.index() + "-of-" + Shard.count() + ".json");
+        try {
+            Files.createDirectories(dir);
+            Files.write(file, new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            log.info("Results of {} written to {}", Shard.describe(), file.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Could not write shard report {}", file, e);
+        }
+    }
+
+    private static String describe(TestIdentifier testIdentifier) {
+        Optional<TestSource> source = testIdentifier.getSource();
+        if (source.isPresent() && source.get() instanceof MethodSource) {
+            MethodSource method = (MethodSource) source.get();
+            return method.getClassName() + "." + method.getMethodName();
+        }
+        return testIdentifier.getDisplayName();
+    }
+}
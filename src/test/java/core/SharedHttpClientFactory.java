@@ -0,0 +1,147 @@
+package core;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpClientName;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Selenium HTTP client factory backed by ONE JDK HttpClient for the whole JVM. Every session's command executor
+ * shares its connection pool, so connections to the driver (or Grid) stay open between commands and between
+ * sessions instead of being opened per client. Selected through "webdriver.http.factory" (see DriverHttpClient)
+ * and registered in META-INF/services.
+ * Only plain HTTP commands go through the shared client; WebSockets (DevTools, used by NetworkInterception)
+ * are delegated to Selenium's default client.
+ */
+@HttpClientName(SharedHttpClientFactory.NAME)
+public class SharedHttpClientFactory implements HttpClient.Factory {
+
+    public static final String NAME = "shared-jdk";
+
+    // Headers the JDK client sets itself and refuses to take from callers
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        return new SharedClient(config);
+    }
+
+    /**
+     * Lazily created, shared JDK client (idle connections are kept alive by the JDK's connection pool).
+     */
+    private static final class Holder {
+
+        private static final java.net.http.HttpClient CLIENT = java.net.http.HttpClient.newBuilder()
+                .version(DriverHttpClient.useHttp2() ? java.net.http.HttpClient.Version.HTTP_2 : java.net.http.HttpClient.Version.HTTP_1_1)
+                .connectTimeout(DriverHttpClient.connectTimeout())
+                .followRedirects(java.net.http.HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    /**
+     * One session's view of the shared client: its base URI, filters and read timeout.
+     */
+    private static final class SharedClient implements HttpClient {
+
+        private final ClientConfig config;
+        private final HttpHandler handler;
+        private HttpClient webSocketClient; // Created on the first openSocket
+
+        private SharedClient(ClientConfig config) {
+            this.config = config;
+            this.handler = config.filter().andFinally(this::send);
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return handler.execute(request);
+        }
+
+        private HttpResponse send(HttpRequest request) {
+            java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(toUri(request))
+                    .timeout(config.readTimeout());
+            for (String name : request.getHeaderNames()) {
+                if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                    for (String value : request.getHeaders(name)) {
+                        builder.header(name, value);
+                    }
+                }
+            }
+            byte[] body = Contents.bytes(request.getContent());
+            builder.method(request.getMethod().name(), body.length == 0
+                    ? java.net.http.HttpRequest.BodyPublishers.noBody()
+                    : java.net.http.HttpRequest.BodyPublishers.ofByteArray(body));
+            try {
+                java.net.http.HttpResponse<byte[]> response = Holder.CLIENT.send(builder.build(),
+                        java.net.http.HttpResponse.BodyHandlers.ofByteArray());
+                HttpResponse result = new HttpResponse().setStatus(response.statusCode());
+                response.headers().map().forEach((name, values) -> {
+                    if (!name.startsWith(":")) { // Skip HTTP/2 pseudo-headers
+                        values.forEach(value -> result.addHeader(name, value));
+                    }
+                });
+                result.setContent(Contents.bytes(response.body()));
+                return result;
+            } catch (HttpTimeoutException e) {
+                throw new TimeoutException("No response to " + request.getMethod() + " " + request.getUri()
+                        + " within " + config.readTimeout().getSeconds() + " s", e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while sending " + request.getMethod() + " " + request.getUri(), e);
+            }
+        }
+
+        private URI toUri(HttpRequest request) {
+            String uri = request.getUri();
+            if (!uri.startsWith("http:") && !uri.startsWith("https:")) {
+                String base = config.baseUri().toString();
+                uri = (base.endsWith("/") ? base.substring(0, base.length() - 1) : base) + (uri.startsWith("/") ? uri : "/" + uri);
+            }
+            List<String> query = new ArrayList<>();
+            for (String name : request.getQueryParameterNames()) {
+                for (String value : request.getQueryParameters(name)) {
+                    query.add(encode(name) + "=" + encode(value));
+                }
+            }
+            return URI.create(query.isEmpty() ? uri : uri + (uri.contains("?") ? "&" : "?") + String.join("&", query));
+        }
+
+        private static String encode(String value) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+        }
+
+        @Override
+        public synchronized WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            if (webSocketClient == null) {
+                webSocketClient = HttpClient.Factory.create("netty").createClient(config);
+            }
+            return webSocketClient.openSocket(request, listener);
+        }
+
+        @Override
+        public synchronized void close() {
+            // The shared JDK client outlives this session; only the WebSocket client is ours to close
+            if (webSocketClient != null) {
+                webSocketClient.close();
+                webSocketClient = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package core;
+
+/**
+ * Names of shared resources that tests can lock when running in parallel.
+ * Use them with JUnit's {@code @ResourceLock} on a BaseTest subclass or test method, e.g.
+ * {@code @ResourceLock(value = SharedResources.STANDARD_USER, mode = ResourceAccessMode.READ)}.
+ * READ locks can be held by many tests at once; READ_WRITE locks run the test exclusively.
+ */
+public class SharedResources {
+
+    // Demo accounts. Use READ_WRITE for tests that change server-side state tied to the account.
+    public static final String STANDARD_USER = "account:standard_user";
+    public static final String LOCKED_OUT_USER = "account:locked_out_user";
+    public static final String PROBLEM_USER = "account:problem_user";
+    public static final String PERFORMANCE_GLITCH_USER = "account:performance_glitch_user";
+
+    // Private constructor to prevent instantiation of this utility class
+    private SharedResources() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
@@ -0,0 +1,182 @@
+package core;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Explicit wait engine used by BasePage instead of a fixed-poll WebDriverWait.
+ * <ul>
+ *     <li>Adaptive polling: the first re-check happens after a few milliseconds and the interval doubles up to a cap,
+ *     so fast conditions return almost immediately and slow ones don't flood the driver with commands.</li>
+ *     <li>DOM-mutation driven: between checks, an injected MutationObserver wakes the wait as soon as nodes are added
+ *     or removed (or shown/enabled through hidden/disabled), instead of always sleeping for the full interval.</li>
+ *     <li>Per-locator timeouts: see {@link #setTimeout(By, Duration)}.</li>
+ * </ul>
+ * Implicit waits must stay at 0 (DriverFactory sets it), otherwise every failed lookup inside a check would stack
+ * the implicit timeout on top of this one.
+ * <p>
+ * System properties: wait.timeout.seconds (default 10), wait.poll.initialMillis (default 10),
+ * wait.poll.maxMillis (default 250), wait.mutationObserver (default true).
+ */
+public class SmartWait {
+
+    private static final Logger log = LoggerFactory.getLogger(SmartWait.class);
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(Long.getLong("wait.timeout.seconds", 10));
+    private static final long INITIAL_POLL_MILLIS = Long.getLong("wait.poll.initialMillis", 10);
+    private static final long MAX_POLL_MILLIS = Long.getLong("wait.poll.maxMillis", 250);
+    private static final boolean USE_MUTATION_OBSERVER =
+            Boolean.parseBoolean(System.getProperty("wait.mutationObserver", "true"));
+
+    // Resolves true on the first structural DOM mutation, or false once arguments[0] milliseconds have passed.
+    // Only nodes added/removed and the hidden/disabled attributes wake it: animations (style/class) and ticking
+    // counters (characterData) would wake every poll and defeat the backoff; the capped poll still catches those.
+    private static final String AWAIT_MUTATION_SCRIPT =
+            "var done = arguments[arguments.length - 1];"
+                    + "var ms = arguments[0];"
+                    + "if (!window.MutationObserver || !document.documentElement) {"
+                    + "  setTimeout(function () { done(false); }, ms);"
+                    + "  return;"
+                    + "}"
+                    + "var timer;"
+                    + "var observer = new MutationObserver(function () {"
+                    + "  clearTimeout(timer); observer.disconnect(); done(true);"
+                    + "});"
+                    + "observer.observe(document.documentElement,"
+                    + "  {childList: true, subtree: true, attributes: true, attributeFilter: ['hidden', 'disabled']});"
+                    + "timer = setTimeout(function () { observer.disconnect(); done(false); }, ms);";
+
+    // Timeouts registered for specific locators (e.g. elements that are known to render slowly)
+    private static final Map<By, Duration> locatorTimeouts = new ConcurrentHashMap<>();
+
+    // Time the current thread spent inside until(), read by PerformanceBudgets
+    private static final ThreadLocal<long[]> threadWaitNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final WebDriver driver;
+
+    public SmartWait(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Registers a timeout for one locator, used instead of the default wherever that locator is waited on.
+     *
+     * @param locator The locator.
+     * @param timeout The timeout to use for it.
+     */
+    public static void setTimeout(By locator, Duration timeout) {
+        locatorTimeouts.put(locator, timeout);
+    }
+
+    /**
+     * @param locator The locator.
+     * @return The timeout registered for the locator, or the default timeout.
+     */
+    public static Duration timeoutFor(By locator) {
+        return locatorTimeouts.getOrDefault(locator, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Waits for a condition on a locator, using the locator's configured timeout.
+     *
+     * @param locator   The locator the condition is about (only used to pick the timeout and describe failures).
+     * @param condition The condition, e.g. one from ExpectedConditions.
+     * @return The condition's first non-null, non-false value.
+     * @throws TimeoutException if the condition is not met in time.
+     */
+    public <T> T until(By locator, Function<? super WebDriver, T> condition) {
+        return until(condition, timeoutFor(locator));
+    }
+
+    /**
+     * Waits for a condition using the default timeout.
+     */
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        return until(condition, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Waits for a condition with an explicit timeout.
+     * NotFoundException and StaleElementReferenceException thrown by the condition count as "not yet".
+     *
+     * @param condition The condition, e.g. one from ExpectedConditions.
+     * @param timeout   Maximum time to wait. Duration.ZERO checks exactly once.
+     * @return The condition's first non-null, non-false value.
+     * @throws TimeoutException if the condition is not met in time.
+     */
+    public <T> T until(Function<? super WebDriver, T> condition, Duration timeout) {
+        long start = System.nanoTime();
+        try {
+            return poll(condition, timeout, start + timeout.toNanos());
+        } finally {
+            threadWaitNanos.get()[0] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * @return Total time the current thread has spent waiting in until() so far.
+     */
+    public static long threadWaitNanos() {
+        return threadWaitNanos.get()[0];
+    }
+
+    private <T> T poll(Function<? super WebDriver, T> condition, Duration timeout, long deadline) {
+        long pollMillis = INITIAL_POLL_MILLIS;
+        RuntimeException lastError = null;
+        int checks = 0;
+        while (true) {
+            checks++;
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    log.trace("Condition {} met after {} check(s)", condition, checks);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e; // The DOM is still changing, keep waiting
+            }
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                throw new TimeoutException(String.format("Expected condition failed: %s (tried for %d ms, %d check(s))",
+                        condition, timeout.toMillis(), checks), lastError);
+            }
+            pause(Math.min(pollMillis, remainingMillis));
+            pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    /**
+     * Waits until the DOM changes or the given time passes, whichever comes first.
+     * Falls back to a plain sleep when the observer can't be injected (e.g. mid-navigation).
+     */
+    private void pause(long millis) {
+        if (USE_MUTATION_OBSERVER && driver instanceof JavascriptExecutor) {
+            try {
+                ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_MUTATION_SCRIPT, millis);
+                return;
+            } catch (WebDriverException e) {
+                // Typically "document unloaded while waiting for result": the page changed, re-check almost right away
+                log.trace("Mutation wait interrupted, re-checking condition.", e);
+                millis = Math.min(millis, INITIAL_POLL_MILLIS);
+            }
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
+    }
+}
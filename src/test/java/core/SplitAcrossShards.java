@@ -0,0 +1,15 @@
+package core;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test class that runs on every shard and splits its own data rows with Shard.ownsRow,
+ * instead of being assigned to a single shard as a whole (e.g. data-driven matrices).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SplitAcrossShards {
+}
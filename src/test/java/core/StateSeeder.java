@@ -0,0 +1,131 @@
+package core;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes application state straight into the browser, in the same form the storefront itself keeps it
+ * (real Sauce Demo and LocalStorefront alike): the logged-in user in the "session-username" cookie and the cart
+ * in localStorage "cart-contents" as a JSON array of product ids. One script call replaces the login form and
+ * every add-to-cart click, so a test about checkout can seed its state and open the checkout page directly
+ * (see the pages' open() methods).
+ * Usage: StateSeeder.forUser("standard_user").withProducts("Sauce Labs Backpack").seed();
+ * Tests about login or the inventory page itself should keep using the UI.
+ */
+public class StateSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(StateSeeder.class);
+
+    public static final String SESSION_COOKIE = "session-username";
+    public static final String CART_KEY = "cart-contents";
+
+    // Same lifetime as the cookie set by a UI login
+    private static final long SESSION_MILLIS = 10 * 60 * 1000L;
+
+    // Product ids of the storefront, by display name
+    private static final Map<String, Integer> PRODUCT_IDS = new LinkedHashMap<>();
+
+    static {
+        PRODUCT_IDS.put("Sauce Labs Backpack", 4);
+        PRODUCT_IDS.put("Sauce Labs Bike Light", 0);
+        PRODUCT_IDS.put("Sauce Labs Bolt T-Shirt", 1);
+        PRODUCT_IDS.put("Sauce Labs Fleece Jacket", 5);
+        PRODUCT_IDS.put("Sauce Labs Onesie", 2);
+        PRODUCT_IDS.put("Test.allTheThings() T-Shirt (Red)", 3);
+    }
+
+    // arguments: cookie name, username, cookie lifetime (ms), cart key, cart JSON (null = empty cart)
+    private static final String SEED_SCRIPT =
+            "var expires = new Date(Date.now() + arguments[2]).toUTCString();"
+                    + "document.cookie = arguments[0] + '=' + encodeURIComponent(arguments[1]) + '; expires=' + expires + '; path=/';"
+                    + "if (arguments[4] === null) { window.localStorage.removeItem(arguments[3]); }"
+                    + "else { window.localStorage.setItem(arguments[3], arguments[4]); }";
+
+    private final String username;
+    private final List<String> products = new ArrayList<>();
+
+    private StateSeeder(String username) {
+        this.username = username;
+    }
+
+    /**
+     * @param username The user the browser should be logged in as.
+     * @return A seeder with an empty cart.
+     */
+    public static StateSeeder forUser(String username) {
+        return new StateSeeder(username);
+    }
+
+    /**
+     * Adds products to the seeded cart, in order.
+     *
+     * @throws IllegalArgumentException if a product is not in the storefront's catalogue.
+     */
+    public StateSeeder withProducts(String... productNames) {
+        return withProducts(Arrays.asList(productNames));
+    }
+
+    public StateSeeder withProducts(Collection<String> productNames) {
+        for (String productName : productNames) {
+            productId(productName); // Fail here, not as a missing row three pages later
+            products.add(productName);
+        }
+        return this;
+    }
+
+    /**
+     * Writes the state into the current thread's browser, replacing any cart it had.
+     * Navigates to the base URL first if the browser is elsewhere, since cookies and storage are per origin.
+     */
+    public void seed() {
+        WebDriver driver = DriverManager.getDriver();
+        long start = System.nanoTime();
+        try {
+            String baseUrl = TestEnvironment.baseUrl();
+            String currentUrl = driver.getCurrentUrl();
+            if (currentUrl == null || !currentUrl.startsWith(baseUrl)) {
+                driver.get(baseUrl);
+            }
+            List<Integer> ids = new ArrayList<>();
+            for (String productName : products) {
+                ids.add(productId(productName));
+            }
+            String cart = ids.isEmpty() ? null : ids.toString().replace(" ", "");
+            ((JavascriptExecutor) driver).executeScript(SEED_SCRIPT, SESSION_COOKIE, username, SESSION_MILLIS, CART_KEY, cart);
+            log.info("Seeded browser state: user '{}', cart {}", username, products);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to seed browser state for user '" + username + "'", e);
+        } finally {
+            StepMetrics.record(StateSeeder.class, "seed", products.size() + " product(s)", System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @return The storefront's id of a product.
+     * @throws IllegalArgumentException if the product is not in the catalogue.
+     */
+    public static int productId(String productName) {
+        Integer id = PRODUCT_IDS.get(productName);
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown product '" + productName + "', known products: " + PRODUCT_IDS.keySet());
+        }
+        return id;
+    }
+
+    /**
+     * @return The names of all products in the catalogue.
+     */
+    public static Collection<String> productNames() {
+        return Collections.unmodifiableSet(PRODUCT_IDS.keySet());
+    }
+}
@@ -0,0 +1,90 @@
+package core;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM-wide registry of step timings, one LatencyHistogram per (page class, action, target).
+ * BasePage records every interaction and page transition here; StepMetricsExporter writes the
+ * histograms out at the end of the run. Safe to use from parallel test threads.
+ */
+public class StepMetrics {
+
+    private static final Map<StepKey, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Records the duration of one step.
+     *
+     * @param page   The page object class the step ran on.
+     * @param action The kind of step, e.g. "click" or "transition".
+     * @param target What the step acted on, e.g. a By locator or the next page's name.
+     * @param nanos  Elapsed time in nanoseconds.
+     */
+    public static void record(Class<?> page, String action, Object target, long nanos) {
+        histograms.computeIfAbsent(new StepKey(page.getSimpleName(), action, String.valueOf(target)), key -> new LatencyHistogram())
+                .recordNanos(nanos);
+    }
+
+    /**
+     * @return A live view of all histograms recorded so far.
+     */
+    public static Map<StepKey, LatencyHistogram> snapshot() {
+        return histograms;
+    }
+
+    /**
+     * Identifies one kind of step.
+     */
+    public static final class StepKey {
+
+        private final String page;
+        private final String action;
+        private final String target;
+
+        private StepKey(String page, String action, String target) {
+            this.page = page;
+            this.action = action;
+            this.target = target;
+        }
+
+        public String getPage() {
+            return page;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StepKey)) {
+                return false;
+            }
+            StepKey other = (StepKey) o;
+            return page.equals(other.page) && action.equals(other.action) && target.equals(other.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(page, action, target);
+        }
+
+        @Override
+        public String toString() {
+            return page + " " + action + " " + target;
+        }
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private StepMetrics() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
@@ -0,0 +1,112 @@
+package core;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the StepMetrics histograms at the end of the test run.
+ * Registered through META-INF/services, so it runs for every JUnit Platform launch (Maven, IDE).
+ * Output (directory from the "metrics.dir" system property, default target/step-metrics):
+ * step-timings.json, step-timings.csv, and a p50/p95/p99 summary of the slowest steps in the log
+ * (followed by the ElementCache, NetworkInterception, FlakeTracker and CommandStats counters).
+ * Driver HTTP commands are exported with the steps but left out of the logged slowest-steps table.
+ * flaky-locators.json lists the locators that needed step retries (see StepRetry), quarantined ones first.
+ */
+public class StepMetricsExporter implements TestExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(StepMetricsExporter.class);
+
+    private static final int SUMMARY_ROWS = 15;
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        List<Map<String, Object>> rows = buildRows();
+        if (rows.isEmpty()) {
+            log.debug("No step timings recorded, nothing to export.");
+            return;
+        }
+        Path dir = Paths.get(System.getProperty("metrics.dir", "target/step-metrics"));
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("step-timings.json"), new Json().toJson(rows).getBytes(StandardCharsets.UTF_8));
+            Files.write(dir.resolve("step-timings.csv"), toCsv(rows).getBytes(StandardCharsets.UTF_8));
+            Files.write(dir.resolve("flaky-locators.json"), new Json().toJson(FlakeTracker.report()).getBytes(StandardCharsets.UTF_8));
+            log.info("Step timings exported to {}", dir.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Could not export step timings to {}", dir, e);
+        }
+        logSummary(rows);
+    }
+
+    /**
+     * One row per step key, slowest p95 first.
+     */
+    private static List<Map<String, Object>> buildRows() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        StepMetrics.snapshot().forEach((key, histogram) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("page", key.getPage());
+            row.put("action", key.getAction());
+            row.put("target", key.getTarget());
+            row.put("count", histogram.getCount());
+            row.put("meanMicros", Math.round(histogram.getMeanMicros()));
+            row.put("p50Micros", histogram.getValueAtPercentile(50));
+            row.put("p95Micros", histogram.getValueAtPercentile(95));
+            row.put("p99Micros", histogram.getValueAtPercentile(99));
+            row.put("maxMicros", histogram.getMaxMicros());
+            rows.add(row);
+        });
+        rows.sort(Comparator.comparingLong((Map<String, Object> row) -> (Long) row.get("p95Micros")).reversed());
+        return rows;
+    }
+
+    private static String toCsv(List<Map<String, Object>> rows) {
+        StringBuilder csv = new StringBuilder(String.join(",", rows.get(0).keySet())).append('\n');
+        for (Map<String, Object> row : rows) {
+            List<String> cells = new ArrayList<>();
+            for (Object value : row.values()) {
+                cells.add('"' + String.valueOf(value).replace("\"", "\"\"") + '"');
+            }
+            csv.append(String.join(",", cells)).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static void logSummary(List<Map<String, Object>> rows) {
+        StringBuilder summary = new StringBuilder("Slowest steps by p95 (ms):\n");
+        summary.append(String.format("%8s %8s %8s %8s  %s%n", "count", "p50", "p95", "p99", "step"));
+        List<Map<String, Object>> steps = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            if (!CommandStats.class.getSimpleName().equals(row.get("page"))) {
+                steps.add(row);
+            }
+        }
+        for (Map<String, Object> row : steps.subList(0, Math.min(SUMMARY_ROWS, steps.size()))) {
+            summary.append(String.format("%8d %8.1f %8.1f %8.1f  %s %s %s%n",
+                    (Long) row.get("count"),
+                    (Long) row.get("p50Micros") / 1000.0,
+                    (Long) row.get("p95Micros") / 1000.0,
+                    (Long) row.get("p99Micros") / 1000.0,
+                    row.get("page"), row.get("action"), row.get("target")));
+        }
+        summary.append("Element cache: ").append(ElementCache.summary()).append('\n');
+        summary.append("Network interception: ").append(NetworkInterception.totalsSummary()).append('\n');
+        summary.append("Step retries: ").append(FlakeTracker.summary()).append('\n');
+        summary.append("Driver commands: ").append(CommandStats.summary());
+        log.info(summary.toString());
+    }
+}
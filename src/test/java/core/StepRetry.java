@@ -0,0 +1,87 @@
+package core;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Step-level retry for transient WebDriver errors: a stale element (the DOM was re-rendered under us) or an
+ * intercepted click (an overlay or animation was still covering the target). Retrying one step costs a few
+ * hundred milliseconds; letting it fail costs a rerun of the whole flow, browser launch included.
+ * Up to "step.retry.max" retries (default 2, 0 disables) with jittered exponential backoff starting at
+ * "step.retry.backoffMillis" (default 100), so parallel workers don't retry in lockstep.
+ * Every call's outcome is recorded per locator in FlakeTracker; each retry is noted in the ActionTrail, flagged when
+ * the locator is quarantined. Any other exception is not retried.
+ */
+public class StepRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(StepRetry.class);
+
+    private static final int MAX_RETRIES = Integer.getInteger("step.retry.max", 2);
+    private static final long BACKOFF_MILLIS = Long.getLong("step.retry.backoffMillis", 100L);
+
+    /**
+     * Runs a step, retrying it on transient errors.
+     *
+     * @param locator     Page and locator of the step, the key of its flakiness statistics.
+     * @param step        The step; each attempt must be safe to repeat.
+     * @param beforeRetry Runs before each retry (e.g. dropping the cached element).
+     * @return The step's result.
+     */
+    public static <T> T run(String locator, Supplier<T> step, Runnable beforeRetry) {
+        int retries = 0;
+        while (true) {
+            try {
+                T result = step.get();
+                FlakeTracker.record(locator, retries, true);
+                return result;
+            } catch (StaleElementReferenceException | ElementClickInterceptedException e) {
+                if (retries >= MAX_RETRIES || !backOff(retries)) {
+                    FlakeTracker.record(locator, retries, false);
+                    throw e;
+                }
+                retries++;
+                // A quarantined locator is a known flake: say so where a failure will be investigated
+                String quarantined = FlakeTracker.isQuarantined(locator) ? " [quarantined flaky locator]" : "";
+                log.warn("Retrying {}{} ({} of {}) after {}", locator, quarantined, retries, MAX_RETRIES, e.getClass().getSimpleName());
+                ActionTrail.action(StepRetry.class, "retry", locator + quarantined + " after " + e.getClass().getSimpleName(), 0);
+                beforeRetry.run();
+            } catch (RuntimeException e) {
+                FlakeTracker.record(locator, retries, false);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * @return Retries per step ("step.retry.max").
+     */
+    public static int maxRetries() {
+        return MAX_RETRIES;
+    }
+
+    /**
+     * Sleeps between half and all of BACKOFF_MILLIS * 2^retries.
+     *
+     * @return False if interrupted (the caller gives up and rethrows).
+     */
+    private static boolean backOff(int retries) {
+        long ceiling = BACKOFF_MILLIS << retries;
+        try {
+            Thread.sleep(ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private StepRetry() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
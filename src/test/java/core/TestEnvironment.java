@@ -0,0 +1,30 @@
+package core;
+
+/**
+ * Resolves which storefront the tests run against.
+ * <ul>
+ *     <li>-Dstorefront=local: the embedded LocalStorefront (offline, deterministic)</li>
+ *     <li>-Dbase.url=...: any other deployment</li>
+ *     <li>default: the public https://www.saucedemo.com/</li>
+ * </ul>
+ */
+public class TestEnvironment {
+
+    public static final String DEFAULT_BASE_URL = "https://www.saucedemo.com/";
+
+    /**
+     * @return The base URL of the storefront under test, ending with "/".
+     */
+    public static String baseUrl() {
+        if ("local".equalsIgnoreCase(System.getProperty("storefront"))) {
+            return LocalStorefront.get().getBaseUrl();
+        }
+        String baseUrl = System.getProperty("base.url", DEFAULT_BASE_URL);
+        return baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private TestEnvironment() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
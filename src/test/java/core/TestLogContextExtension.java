@@ -0,0 +1,37 @@
+package core;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.MDC;
+
+/**
+ * JUnit 5 extension that gives every test its own log context.
+ * Before the test (and its @BeforeEach methods): sets the "test" and "worker" MDC keys and opens a per-test
+ * log buffer. After the test (and its @AfterEach methods): flushes the buffer as one block, with the full
+ * trail if the test failed (DEBUG included with -Dlog.trail.level=DEBUG). DriverManager adds the "session" key once a WebDriver is checked out.
+ */
+public class TestLogContextExtension implements BeforeEachCallback, AfterEachCallback {
+
+    public static final String MDC_TEST = "test";
+    public static final String MDC_WORKER = "worker";
+    public static final String MDC_SESSION = "session";
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        MDC.put(MDC_TEST, context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName());
+        MDC.put(MDC_WORKER, Thread.currentThread().getName());
+        PerTestLogAppender.beginTest();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        try {
+            PerTestLogAppender.endTest(context.getExecutionException().isPresent());
+        } finally {
+            MDC.remove(MDC_TEST);
+            MDC.remove(MDC_WORKER);
+            MDC.remove(MDC_SESSION);
+        }
+    }
+}
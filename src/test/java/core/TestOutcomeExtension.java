@@ -0,0 +1,18 @@
+package core;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * JUnit 5 extension that flags the current thread's WebDriver session as failed when the test throws.
+ * Runs right after the test method and before any @AfterEach method, so tearDown can evict the session.
+ */
+public class TestOutcomeExtension implements AfterTestExecutionCallback {
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            DriverManager.markSessionFailed();
+        }
+    }
+}
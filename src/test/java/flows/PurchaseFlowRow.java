@@ -0,0 +1,114 @@
+package flows;
+
+import java.util.Map;
+
+/**
+ * One row of the purchase matrix: who buys what, and the shipping details they enter at checkout.
+ * A row that could not be parsed keeps its row number and the reason (see malformed), so it is reported as a
+ * failed row instead of aborting the whole matrix.
+ */
+public class PurchaseFlowRow {
+
+    private final int rowNumber;
+    private final String username;
+    private final String password;
+    private final String product;
+    private final String firstName;
+    private final String lastName;
+    private final String postalCode;
+    private final String problem;
+
+    public PurchaseFlowRow(int rowNumber, String username, String password, String product,
+                           String firstName, String lastName, String postalCode) {
+        this(rowNumber, username, password, product, firstName, lastName, postalCode, null);
+    }
+
+    private PurchaseFlowRow(int rowNumber, String username, String password, String product,
+                            String firstName, String lastName, String postalCode, String problem) {
+        this.rowNumber = rowNumber;
+        this.username = username;
+        this.password = password;
+        this.product = product;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.postalCode = postalCode;
+        this.problem = problem;
+    }
+
+    /**
+     * A row that could not be parsed.
+     *
+     * @param rowNumber 1-based position of the row in its source.
+     * @param problem   Why it could not be parsed.
+     * @return The row, with no values.
+     */
+    public static PurchaseFlowRow malformed(int rowNumber, String problem) {
+        return new PurchaseFlowRow(rowNumber, null, null, null, null, null, null, problem);
+    }
+
+    /**
+     * Builds a row from column name/value pairs (CSV header or JSON object keys).
+     *
+     * @param rowNumber 1-based position of the row in its source.
+     * @param values    Values keyed by column name.
+     * @return The row.
+     * @throws IllegalArgumentException if a column is missing.
+     */
+    public static PurchaseFlowRow fromMap(int rowNumber, Map<String, ?> values) {
+        return new PurchaseFlowRow(rowNumber,
+                required(values, "username", rowNumber),
+                required(values, "password", rowNumber),
+                required(values, "product", rowNumber),
+                required(values, "firstName", rowNumber),
+                required(values, "lastName", rowNumber),
+                required(values, "postalCode", rowNumber));
+    }
+
+    private static String required(Map<String, ?> values, String column, int rowNumber) {
+        Object value = values.get(column);
+        if (value == null) {
+            throw new IllegalArgumentException("Purchase matrix row " + rowNumber + " is missing column '" + column + "'");
+        }
+        return String.valueOf(value).trim();
+    }
+
+    /**
+     * @return Why the row could not be parsed, or null for a valid row.
+     */
+    public String getProblem() {
+        return problem;
+    }
+
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getProduct() {
+        return product;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getPostalCode() {
+        return postalCode;
+    }
+
+    @Override
+    public String toString() {
+        return problem != null ? "row " + rowNumber + " (malformed)" : "row " + rowNumber + " (" + username + " buys '" + product + "')";
+    }
+}
@@ -0,0 +1,307 @@
+package flows;
+
+import core.ActionTrail;
+import core.DriverManager;
+import core.FailureArtifacts;
+import core.PerTestLogAppender;
+import core.TestLogContextExtension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import pages.CartPage;
+import pages.CheckoutCompletePage;
+import pages.CheckoutStepOnePage;
+import pages.CheckoutStepTwoPage;
+import pages.InventoryPage;
+import pages.LoginPage;
+import pages.Pages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Drives the full purchase flow (login, add product, cart, checkout steps, completion) for every row of a
+ * purchase matrix, fanned out over several workers that each hold one pooled WebDriver.
+ * Rows are pulled lazily from the stream as workers become free. A worker keeps its session between rows:
+ * if the next row is for the same user it loops back through CheckoutCompletePage.clickBackHome()
+ * instead of logging in again. A failed row gets its session evicted and a fresh one for the next row; if that
+ * launch fails, only the row that needed it fails and the following row tries again. A malformed row fails on its own
+ * without touching the session.
+ * <p>
+ * Must not be called from a thread that already holds a pooled driver (e.g. from a BaseTest subclass),
+ * since the workers draw from the same pool.
+ */
+public class PurchaseFlowRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PurchaseFlowRunner.class);
+
+    private static final String EXPECTED_COMPLETION_HEADER = "Thank you for your order!";
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+
+    private final String baseUrl;
+    private final int workers;
+
+    /**
+     * @param baseUrl Base URL of the storefront (see TestEnvironment).
+     * @param workers Number of parallel workers (and browser sessions).
+     */
+    public PurchaseFlowRunner(String baseUrl, int workers) {
+        this.baseUrl = baseUrl;
+        this.workers = Math.max(1, workers);
+    }
+
+    /**
+     * Runs every row of the stream and waits for all of them.
+     *
+     * @param rows Lazy stream of rows; consumed (not closed) by this method.
+     * @return The run summary, including per-row results and throughput.
+     */
+    public RunSummary run(Stream<PurchaseFlowRow> rows) {
+        Iterator<PurchaseFlowRow> source = rows.iterator();
+        List<FlowResult> results = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers,
+                runnable -> new Thread(runnable, "purchase-flow-worker-" + threadNumber.incrementAndGet()));
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> new Worker(source, results).run()));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running the purchase matrix", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Purchase flow worker crashed", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        RunSummary summary = new RunSummary(new ArrayList<>(results), System.nanoTime() - start);
+        log.info("Purchase matrix finished: {}", summary);
+        return summary;
+    }
+
+    /**
+     * Hands out the next row; the underlying iterator is shared by all workers.
+     */
+    private static PurchaseFlowRow nextRow(Iterator<PurchaseFlowRow> source) {
+        synchronized (source) {
+            return source.hasNext() ? source.next() : null;
+        }
+    }
+
+    /**
+     * One worker: keeps one pooled session across rows (replaced after a failed row) and runs rows until the source is empty.
+     */
+    private final class Worker {
+
+        private final Iterator<PurchaseFlowRow> source;
+        private final List<FlowResult> results;
+
+        // Session state carried between rows, used to decide whether the next row can reuse it
+        private String loggedInUser;
+        private CheckoutCompletePage lastCompletePage;
+
+        private Worker(Iterator<PurchaseFlowRow> source, List<FlowResult> results) {
+            this.source = source;
+            this.results = results;
+        }
+
+        private void run() {
+            MDC.put(TestLogContextExtension.MDC_WORKER, Thread.currentThread().getName());
+            try {
+                PurchaseFlowRow row;
+                while ((row = nextRow(source)) != null) {
+                    MDC.put(TestLogContextExtension.MDC_TEST, "purchase-matrix " + row);
+                    PerTestLogAppender.beginTest(); // Each row's log lines come out as one block, like a test's
+                    FlowResult result = null;
+                    try {
+                        result = runRow(row);
+                        results.add(result);
+                    } finally {
+                        PerTestLogAppender.endTest(result == null || !result.isPassed());
+                    }
+                }
+            } finally {
+                if (DriverManager.hasDriver()) {
+                    DriverManager.releaseDriver();
+                }
+                ActionTrail.end();
+                MDC.remove(TestLogContextExtension.MDC_TEST);
+                MDC.remove(TestLogContextExtension.MDC_WORKER);
+            }
+        }
+
+        private FlowResult runRow(PurchaseFlowRow row) {
+            if (row.getProblem() != null) { // Bad data, not a bad session: fail the row, keep the session
+                log.error("Purchase flow failed for {}: {}", row, row.getProblem());
+                return FlowResult.failed(row, 0, new IllegalArgumentException(row.getProblem()));
+            }
+            long start = System.nanoTime();
+            ActionTrail.begin(); // One trail per row: artifacts of a failed row only show that row's steps
+            try {
+                if (!DriverManager.hasDriver()) { // First row, or the previous row's session was evicted
+                    DriverManager.checkoutDriver(); // A failed launch only fails this row; the next row tries again
+                }
+                CheckoutCompletePage completePage = purchase(row, startAtInventory(row));
+                String header = completePage.getCompletionHeader();
+                if (!EXPECTED_COMPLETION_HEADER.equals(header)) {
+                    throw new IllegalStateException("Unexpected completion header: " + header);
+                }
+                lastCompletePage = completePage;
+                return FlowResult.passed(row, System.nanoTime() - start);
+            } catch (Exception e) {
+                log.error("Purchase flow failed for {}", row, e);
+                FailureArtifacts.capture("purchase-matrix-" + row, e);
+                // Don't trust this session any more: evict it, the next row checks out a fresh one
+                if (DriverManager.hasDriver()) {
+                    DriverManager.markSessionFailed();
+                    DriverManager.releaseDriver();
+                }
+                loggedInUser = null;
+                lastCompletePage = null;
+                return FlowResult.failed(row, System.nanoTime() - start, e);
+            }
+        }
+
+        /**
+         * Gets to the inventory page as the row's user, reusing the current session when possible.
+         */
+        private InventoryPage startAtInventory(PurchaseFlowRow row) {
+            if (row.getUsername().equals(loggedInUser) && lastCompletePage != null) {
+                log.debug("Reusing logged-in session of '{}' via Back Home.", loggedInUser);
+                return lastCompletePage.clickBackHome();
+            }
+            WebDriver driver = DriverManager.getDriver();
+            if (loggedInUser != null) { // Another user is logged in: drop their session first
+                driver.manage().deleteAllCookies();
+                ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            }
+            driver.get(baseUrl);
+            InventoryPage inventoryPage = Pages.get(LoginPage.class).loginAsCached(row.getUsername(), row.getPassword());
+            loggedInUser = row.getUsername();
+            return inventoryPage;
+        }
+
+        private CheckoutCompletePage purchase(PurchaseFlowRow row, InventoryPage inventoryPage) {
+            inventoryPage.addProductToCart(row.getProduct());
+            CartPage cartPage = inventoryPage.goToCart();
+            if (!cartPage.isProductDisplayed(row.getProduct())) {
+                throw new IllegalStateException("Product missing in cart: " + row.getProduct());
+            }
+            CheckoutStepOnePage stepOnePage = cartPage.clickCheckout();
+            CheckoutStepTwoPage stepTwoPage = stepOnePage.fillShippingInfoAndContinue(
+                    row.getFirstName(), row.getLastName(), row.getPostalCode());
+            if (!stepTwoPage.isProductDisplayed(row.getProduct())) {
+                throw new IllegalStateException("Product missing in checkout overview: " + row.getProduct());
+            }
+            return stepTwoPage.clickFinish();
+        }
+    }
+
+    /**
+     * Outcome of one row.
+     */
+    public static class FlowResult {
+
+        private final PurchaseFlowRow row;
+        private final boolean passed;
+        private final long durationNanos;
+        private final String error;
+
+        private FlowResult(PurchaseFlowRow row, boolean passed, long durationNanos, String error) {
+            this.row = row;
+            this.passed = passed;
+            this.durationNanos = durationNanos;
+            this.error = error;
+        }
+
+        static FlowResult passed(PurchaseFlowRow row, long durationNanos) {
+            return new FlowResult(row, true, durationNanos, null);
+        }
+
+        static FlowResult failed(PurchaseFlowRow row, long durationNanos, Exception error) {
+            return new FlowResult(row, false, durationNanos, String.valueOf(error));
+        }
+
+        public PurchaseFlowRow getRow() {
+            return row;
+        }
+
+        public boolean isPassed() {
+            return passed;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return row + (passed ? " passed" : " FAILED: " + error) + " in " + TimeUnit.NANOSECONDS.toMillis(durationNanos) + " ms";
+        }
+    }
+
+    /**
+     * Results of a whole run, with throughput in flows per minute.
+     */
+    public static class RunSummary {
+
+        private final List<FlowResult> results;
+        private final long elapsedNanos;
+
+        RunSummary(List<FlowResult> results, long elapsedNanos) {
+            this.results = Collections.unmodifiableList(results);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public List<FlowResult> getResults() {
+            return results;
+        }
+
+        public long getPassedCount() {
+            return results.stream().filter(FlowResult::isPassed).count();
+        }
+
+        public long getFailedCount() {
+            return results.size() - getPassedCount();
+        }
+
+        public double getFlowsPerMinute() {
+            return elapsedNanos == 0 ? 0 : results.size() * 60_000_000_000.0 / elapsedNanos;
+        }
+
+        /**
+         * @return One line per failed row, for assertion messages.
+         */
+        public String describeFailures() {
+            StringBuilder failures = new StringBuilder();
+            results.stream().filter(result -> !result.isPassed()).forEach(result -> failures.append(result).append('\n'));
+            return failures.toString();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d flow(s), %d passed, %d failed in %.1f s (%.1f flows/min)",
+                    results.size(), getPassedCount(), getFailedCount(), elapsedNanos / 1e9, getFlowsPerMinute());
+        }
+    }
+}
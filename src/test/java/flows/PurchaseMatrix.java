@@ -0,0 +1,130 @@
+package flows;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads purchase matrix rows from CSV or JSON, lazily: rows are parsed as the stream is consumed,
+ * so a large matrix never has to fit in memory. Close the stream when done (try-with-resources).
+ * <ul>
+ *     <li>CSV: a header line with the column names, then one row per line. Fields are split on commas (no quoting).</li>
+ *     <li>JSON: an array of objects with the same keys.</li>
+ * </ul>
+ * Columns: username, password, product, firstName, lastName, postalCode. Blank CSV lines and lines starting
+ * with '#' are skipped and not numbered. A row missing a column is returned as PurchaseFlowRow.malformed (same row
+ * number), so the runner reports it as one failed row.
+ */
+public class PurchaseMatrix {
+
+    /**
+     * Opens a matrix from the classpath or, if no such resource exists, from the file system.
+     * The format is picked from the file extension (.json, anything else is CSV).
+     *
+     * @param location Classpath resource name or file path.
+     * @return A lazy stream of rows.
+     */
+    public static Stream<PurchaseFlowRow> open(String location) {
+        BufferedReader reader = openReader(location);
+        Stream<PurchaseFlowRow> rows = location.toLowerCase().endsWith(".json") ? jsonRows(reader) : csvRows(reader);
+        return rows.onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static BufferedReader openReader(String location) {
+        InputStream resource = PurchaseMatrix.class.getClassLoader().getResourceAsStream(location);
+        try {
+            if (resource == null) {
+                Path path = Paths.get(location);
+                resource = Files.newInputStream(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Purchase matrix not found on classpath or disk: " + location, e);
+        }
+        return new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8));
+    }
+
+    private static Stream<PurchaseFlowRow> csvRows(BufferedReader reader) {
+        String headerLine;
+        try {
+            headerLine = reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (headerLine == null) {
+            return Stream.empty();
+        }
+        String[] header = Arrays.stream(headerLine.split(",")).map(String::trim).toArray(String[]::new);
+        AtomicInteger rowNumber = new AtomicInteger();
+        return reader.lines()
+                .filter(line -> !line.isBlank() && !line.startsWith("#"))
+                .map(line -> {
+                    String[] cells = line.split(",", -1);
+                    Map<String, String> values = new HashMap<>();
+                    for (int i = 0; i < header.length && i < cells.length; i++) {
+                        values.put(header[i], cells[i]);
+                    }
+                    return parse(rowNumber.incrementAndGet(), values);
+                });
+    }
+
+    private static Stream<PurchaseFlowRow> jsonRows(BufferedReader reader) {
+        JsonInput input = new Json().newInput(reader);
+        input.beginArray();
+        Iterator<PurchaseFlowRow> iterator = new Iterator<PurchaseFlowRow>() {
+            private int rowNumber;
+
+            @Override
+            public boolean hasNext() {
+                return input.hasNext();
+            }
+
+            @Override
+            public PurchaseFlowRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map<String, Object> values = input.read(Json.MAP_TYPE);
+                return parse(++rowNumber, values);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static PurchaseFlowRow parse(int rowNumber, Map<String, ?> values) {
+        try {
+            return PurchaseFlowRow.fromMap(rowNumber, values);
+        } catch (IllegalArgumentException e) {
+            return PurchaseFlowRow.malformed(rowNumber, e.getMessage());
+        }
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private PurchaseMatrix() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
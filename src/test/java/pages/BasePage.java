@@ -1,15 +1,33 @@
 package pages;
 
+import core.ActionTrail;
 import core.DriverManager;
+import core.ElementCache;
+import core.PerformanceBudgets;
+import core.SessionContext;
+import core.SmartWait;
+import core.StepMetrics;
+import core.StepRetry;
+import core.TestEnvironment;
 import org.openqa.selenium.By;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Duration; // For WebDriverWait timeout
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * Base class for all Page Objects.
@@ -20,22 +38,30 @@ public abstract class BasePage {
     // Logger for this base page
     private static final Logger log = LoggerFactory.getLogger(BasePage.class);
 
-    // WebDriverWait instance - initialized in the constructor
-    protected WebDriverWait wait;
+    // Clicks every element of arguments[0], in order, inside one script execution
+    private static final String CLICK_ALL_SCRIPT =
+            "var elements = arguments[0];"
+                    + "for (var i = 0; i < elements.length; i++) { elements[i].click(); }"
+                    + "return elements.length;";
 
-    // Default wait timeout in seconds
-    private static final long DEFAULT_WAIT_TIMEOUT = 10; // 10 seconds
+    // Settle window for probes: how long a probe gives the DOM to catch up before answering
+    private static final Duration DEFAULT_PROBE_SETTLE = Duration.ofMillis(Long.getLong("wait.probe.settleMillis", 300));
+
+    // Wait engine of the session, shared by all its page objects (adaptive polling + DOM mutation wake-ups, see SmartWait)
+    protected SmartWait wait;
+
+    // Elements already resolved on this page, reused across helper calls (see ElementCache)
+    private final ElementCache elementCache = new ElementCache();
 
     /**
      * Constructor for BasePage.
-     * Initializes the WebDriverWait instance for the page.
+     * Takes the SmartWait of the current thread's session (see SessionContext).
      * Subclasses must call this constructor (implicitly or explicitly via super()).
+     * Prefer Pages.get() over "new": it reuses the session's instance of the page.
      */
     public BasePage() {
-        // Initialize WebDriverWait using the driver from DriverManager for the current thread
-        // The driver instance is retrieved when needed, ensuring thread safety
-        this.wait = new WebDriverWait(getDriver(), Duration.ofSeconds(DEFAULT_WAIT_TIMEOUT));
-        log.trace("BasePage initialized with WebDriverWait ({} seconds timeout)", DEFAULT_WAIT_TIMEOUT);
+        this.wait = SessionContext.current().getWait();
+        log.trace("BasePage initialized with the session's SmartWait ({} default timeout)", SmartWait.DEFAULT_TIMEOUT);
     }
 
     /**
@@ -51,7 +77,91 @@ public abstract class BasePage {
 
     // --- Common Interaction Methods ---
     // These methods provide a layer over basic Selenium commands,
-    // incorporating logging and explicit waits.
+    // incorporating logging and explicit waits (per-locator timeouts come from SmartWait.timeoutFor).
+    // Every call is timed into StepMetrics, keyed by page class, action and locator.
+    // Elements are reused from the page's ElementCache when possible; the wait only runs on a miss.
+
+    /**
+     * Runs an action on the element for a locator: first on the cached element, if any, then on a freshly
+     * resolved one. A cached element that is stale or not interactable is evicted and resolved again,
+     * so callers see the same behavior as without the cache.
+     *
+     * @param locator   The By locator strategy to find the element.
+     * @param condition The wait condition used to resolve the element on a cache miss.
+     * @param action    What to do with the element; may throw ElementNotInteractableException to force a re-resolve.
+     * @return The action's result.
+     */
+    private <T> T onElement(By locator, ExpectedCondition<WebElement> condition, Function<WebElement, T> action) {
+        return onElement(locator, condition, UnaryOperator.identity(), action);
+    }
+
+    /**
+     * Same as onElement(locator, condition, action), with a check the cached element must pass first. A freshly
+     * resolved element has already passed the wait condition, so it skips the check (and its round trips).
+     *
+     * @param cachedCheck Returns the cached element, or throws ElementNotInteractableException to force a re-resolve.
+     */
+    private <T> T onElement(By locator, ExpectedCondition<WebElement> condition, UnaryOperator<WebElement> cachedCheck,
+                            Function<WebElement, T> action) {
+        WebElement cached = elementCache.get(locator);
+        if (cached != null) {
+            try {
+                T result = action.apply(cachedCheck.apply(cached));
+                elementCache.recordHit();
+                return result;
+            } catch (StaleElementReferenceException | ElementNotInteractableException e) {
+                elementCache.evict(locator, e.getClass().getSimpleName());
+            }
+        }
+        WebElement element = wait.until(locator, condition);
+        elementCache.put(locator, element);
+        return action.apply(element);
+    }
+
+    /**
+     * Runs a step under StepRetry: stale-element and intercepted-click errors are retried with a fresh element,
+     * and the outcome is counted in the locator's flakiness statistics.
+     */
+    private <T> T retrying(By locator, Supplier<T> step) {
+        return StepRetry.run(getClass().getSimpleName() + " " + locator, step, () -> elementCache.evict(locator, "retry"));
+    }
+
+    /**
+     * Throws if a cached element is not displayed, so onElement falls back to waiting for visibility.
+     */
+    private static WebElement requireDisplayed(WebElement element) {
+        if (!element.isDisplayed()) {
+            throw new ElementNotInteractableException("Cached element is not displayed");
+        }
+        return element;
+    }
+
+    /**
+     * Throws if a cached element is not displayed or disabled, so onElement falls back to waiting until it is
+     * clickable. Needed because clicking a disabled element does not fail, it silently does nothing.
+     */
+    private static WebElement requireClickable(WebElement element) {
+        if (!element.isDisplayed() || !element.isEnabled()) {
+            throw new ElementNotInteractableException("Cached element is not displayed or not enabled");
+        }
+        return element;
+    }
+
+    /**
+     * Times an action into StepMetrics and appends it to the current test's ActionTrail (read only on failure).
+     */
+    private void recordStep(String action, Object target, long start) {
+        long nanos = System.nanoTime() - start;
+        StepMetrics.record(getClass(), action, target, nanos);
+        ActionTrail.action(getClass(), action, target, nanos);
+    }
+
+    /**
+     * Drops every cached element of this page. Call after navigating without transition() (e.g. driver.get).
+     */
+    protected void invalidateElementCache() {
+        elementCache.clear();
+    }
 
     /**
      * Clicks on a web element located by the given locator after ensuring it's clickable.
@@ -59,15 +169,20 @@ public abstract class BasePage {
      * @param locator The By locator strategy to find the element.
      */
     protected void clickElement(By locator) {
+        long start = System.nanoTime();
         try {
             log.debug("Attempting to click element located by: {}", locator);
-            WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
-            element.click();
+            retrying(locator, () -> onElement(locator, ExpectedConditions.elementToBeClickable(locator), BasePage::requireClickable, element -> {
+                element.click();
+                return null;
+            }));
             log.info("Clicked element located by: {}", locator);
         } catch (Exception e) {
             log.error("Error clicking element located by: {}", locator, e);
             // Re-throw the exception to fail the test, ensuring visibility of the error
             throw new RuntimeException("Failed to click element: " + locator, e);
+        } finally {
+            recordStep("click", locator, start);
         }
     }
 
@@ -83,15 +198,20 @@ public abstract class BasePage {
             log.warn("Attempting to send null text to element: {}. Skipping.", locator);
             return; // Avoid NullPointerException
         }
+        long start = System.nanoTime();
         try {
             log.debug("Attempting to send keys '{}' to element located by: {}", text, locator);
-            WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-            element.clear(); // Clear the field before sending keys
-            element.sendKeys(text);
+            retrying(locator, () -> onElement(locator, ExpectedConditions.visibilityOfElementLocated(locator), element -> {
+                element.clear(); // Clear the field before sending keys
+                element.sendKeys(text);
+                return null;
+            }));
             log.info("Sent keys '{}' to element located by: {}", text, locator);
         } catch (Exception e) {
             log.error("Error sending keys '{}' to element located by: {}", text, locator, e);
             throw new RuntimeException("Failed to send keys to element: " + locator, e);
+        } finally {
+            recordStep("sendKeys", locator, start);
         }
     }
 
@@ -103,15 +223,18 @@ public abstract class BasePage {
      * @return The visible text of the element.
      */
     protected String getElementText(By locator) {
+        long start = System.nanoTime();
         try {
             log.debug("Attempting to get text from element located by: {}", locator);
-            WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-            String text = element.getText();
+            String text = onElement(locator, ExpectedConditions.visibilityOfElementLocated(locator),
+                    element -> requireDisplayed(element).getText());
             log.info("Retrieved text '{}' from element located by: {}", text, locator);
             return text;
         } catch (Exception e) {
             log.error("Error getting text from element located by: {}", locator, e);
             throw new RuntimeException("Failed to get text from element: " + locator, e);
+        } finally {
+            recordStep("getText", locator, start);
         }
     }
 
@@ -123,20 +246,349 @@ public abstract class BasePage {
      * @return true if the element is visible within the timeout, false otherwise.
      */
     protected boolean isElementDisplayed(By locator) {
+        long start = System.nanoTime();
         try {
             log.debug("Checking visibility of element located by: {}", locator);
-            // Wait specifically for visibility, returns the element if visible, throws timeout if not
-            wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            // Wait specifically for visibility (skipped if the cached element is still visible), throws timeout if not
+            onElement(locator, ExpectedConditions.visibilityOfElementLocated(locator), BasePage::requireDisplayed);
             log.info("Element located by {} is displayed.", locator);
             return true; // If wait succeeds, the element is visible
         } catch (org.openqa.selenium.TimeoutException e) {
-            log.warn("Element located by {} was not visible within {} seconds.", locator, DEFAULT_WAIT_TIMEOUT);
+            log.warn("Element located by {} was not visible within {}.", locator, SmartWait.timeoutFor(locator));
             return false; // If wait times out, the element is not visible
         } catch (Exception e) {
             log.error("Error checking visibility for element located by: {}", locator, e);
             // Decide if other exceptions should also return false or re-throw
             // For robustness, often better to return false unless it's an unexpected error
             return false;
+        } finally {
+            recordStep("isDisplayed", locator, start);
+        }
+    }
+
+    /**
+     * Clicks several elements in ONE script execution instead of one WebDriver click command per element.
+     * The clicks are DOM clicks (HTMLElement.click()), so use this only for plain buttons that need no
+     * pointer interaction, and verify the outcome afterwards (e.g. with waitForCount).
+     *
+     * @param elements The elements to click, in order (e.g. row buttons captured by RowIndex).
+     * @param target   Label for logging and StepMetrics (e.g. "add to cart x3").
+     */
+    protected void clickElementsInOneRoundTrip(List<WebElement> elements, String target) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            ((JavascriptExecutor) getDriver()).executeScript(CLICK_ALL_SCRIPT, elements);
+            log.info("Clicked {} element(s) in one round trip: {}", elements.size(), target);
+        } catch (Exception e) {
+            log.error("Error clicking {} element(s) in one round trip: {}", elements.size(), target, e);
+            throw new RuntimeException("Failed to click elements: " + target, e);
+        } finally {
+            recordStep("batchClick", target, start);
+        }
+    }
+
+    /**
+     * Indexes the page's rows in one round trip (see RowIndex). The index is a snapshot that doesn't wait, so if a
+     * required row is missing the rows may still be rendering: re-indexes until they are all there, for at most
+     * the default probe settle window. Rows that are really absent cost that window once.
+     *
+     * @param rowCss   CSS selector matching one element per row.
+     * @param nameCss  CSS selector of the name element, relative to the row.
+     * @param priceCss CSS selector of the price element, relative to the row, or null.
+     * @param required Row names the caller is about to look up (may be empty).
+     * @return The index; it may still lack required rows after the settle window.
+     */
+    protected RowIndex indexRows(String rowCss, String nameCss, String priceCss, Collection<String> required) {
+        long start = System.nanoTime();
+        try {
+            RowIndex index = RowIndex.build(getDriver(), rowCss, nameCss, priceCss);
+            if (index.containsAll(required)) {
+                return index;
+            }
+            log.debug("Row(s) {} not indexed yet among {}, re-indexing.", required, index.names());
+            RowIndex[] latest = {index};
+            try {
+                return wait.until(driver -> {
+                    latest[0] = RowIndex.build(driver, rowCss, nameCss, priceCss);
+                    return latest[0].containsAll(required) ? latest[0] : null;
+                }, DEFAULT_PROBE_SETTLE);
+            } catch (TimeoutException e) {
+                return latest[0];
+            }
+        } finally {
+            recordStep("indexRows", rowCss, start);
+        }
+    }
+
+    /**
+     * Waits until a counter element (e.g. the cart badge) shows the expected number.
+     * A count of 0 expects the element to be absent, as counters are usually hidden when empty.
+     *
+     * @param locator  The By locator of the counter element.
+     * @param expected The expected count.
+     * @throws RuntimeException if the counter does not reach the expected value within the locator's timeout.
+     */
+    protected void waitForCount(By locator, int expected) {
+        long start = System.nanoTime();
+        try {
+            if (expected == 0) {
+                wait.until(locator, ExpectedConditions.invisibilityOfElementLocated(locator));
+            } else {
+                wait.until(locator, ExpectedConditions.textToBe(locator, String.valueOf(expected)));
+            }
+            log.info("Element located by {} shows count {}.", locator, expected);
+        } catch (TimeoutException e) {
+            log.error("Element located by {} did not reach count {} within {}.", locator, expected, SmartWait.timeoutFor(locator));
+            throw new RuntimeException("Count mismatch on " + locator + ", expected " + expected, e);
+        } finally {
+            recordStep("waitForCount", locator, start);
+        }
+    }
+
+    /**
+     * Condition that tells this page is ready to be used.
+     * The driver runs with the eager (or none) page-load strategy, so navigation returns before the full load event;
+     * each page declares the minimum it needs instead (e.g. title text and first item present).
+     *
+     * @return The readiness condition, or null if the page needs none.
+     */
+    protected ExpectedCondition<?> readiness() {
+        return null;
+    }
+
+    /**
+     * Condition for readiness(): the element's text equals the expected text ignoring case, the same comparison
+     * isPageDisplayed() uses, so a title rendered in another case (CSS text-transform, local storefront) is accepted.
+     */
+    protected static ExpectedCondition<Boolean> textToBeIgnoringCase(By locator, String expected) {
+        return new ExpectedCondition<Boolean>() {
+            @Override
+            public Boolean apply(WebDriver driver) {
+                try {
+                    return expected.equalsIgnoreCase(driver.findElement(locator).getText());
+                } catch (StaleElementReferenceException e) {
+                    return false;
+                }
+            }
+
+            @Override
+            public String toString() {
+                return String.format("text of element located by %s to be \"%s\" ignoring case", locator, expected);
+            }
+        };
+    }
+
+    /**
+     * Waits for this page's readiness condition (see readiness()). Called by transition() for the destination page.
+     *
+     * @throws RuntimeException if the page is not ready within the default wait timeout.
+     */
+    public void awaitReady() {
+        ExpectedCondition<?> condition = readiness();
+        if (condition == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            wait.until(condition);
+            log.debug("{} is ready.", getClass().getSimpleName());
+        } catch (TimeoutException e) {
+            log.error("{} was not ready within {}: {}", getClass().getSimpleName(), SmartWait.DEFAULT_TIMEOUT, condition);
+            throw new RuntimeException(getClass().getSimpleName() + " not ready: " + condition, e);
+        } finally {
+            recordStep("ready", condition, start);
+        }
+    }
+
+    /**
+     * Clicks an element that navigates to another page and returns that page once it is ready (see readiness()).
+     * The whole transition (click + next page readiness) is timed into StepMetrics.
+     *
+     * The destination comes from the Pages registry, so repeated transitions reuse the session's page objects.
+     *
+     * @param trigger  The By locator of the element that triggers the navigation.
+     * @param nextPage The page class of the destination page.
+     * @return The destination page object.
+     */
+    protected <T extends BasePage> T transition(By trigger, Class<T> nextPage) {
+        return transition(trigger, nextPage, null).get();
+    }
+
+    /**
+     * Like transition(By, Class), for actions the app may reject by staying on this page and showing an error
+     * (e.g. a login with a wrong password): waits for the next page's readiness OR the failure element, whichever
+     * comes first, instead of running into the readiness timeout.
+     *
+     * @param trigger  The By locator of the element that triggers the navigation.
+     * @param nextPage The page class of the destination page.
+     * @param failure  The By locator of the element shown on this page when the app rejects the action.
+     * @return The destination page object, or empty if the failure element showed up (the browser stays on this page).
+     */
+    protected <T extends BasePage> Optional<T> transitionUnless(By trigger, Class<T> nextPage, By failure) {
+        return transition(trigger, nextPage, failure);
+    }
+
+    private <T extends BasePage> Optional<T> transition(By trigger, Class<T> nextPage, By failure) {
+        long start = System.nanoTime();
+        // Only pages with a budgeted method pay for the probe and the caller lookup
+        PerformanceBudgets.Probe budgetProbe = PerformanceBudgets.hasBudgetedMethods(getClass()) ? PerformanceBudgets.start() : null;
+        String destination = "(failed)"; // Replaced once the next page was created
+        try {
+            clickElement(trigger);
+            elementCache.clear(); // This page's elements belong to the document we just left
+            T page = Pages.get(nextPage);
+            page.invalidateElementCache(); // A reused page object may hold elements from its previous visit
+            if (failure == null) {
+                page.awaitReady(); // Block on what the next page needs, not on the full load event
+            } else if (!((BasePage) page).awaitReadyUnless(failure)) {
+                destination = "(stayed, " + failure + " shown)";
+                return Optional.empty();
+            }
+            destination = page.getClass().getSimpleName();
+            ActionTrail.page(getDriver(), "after transition to " + destination);
+            if (budgetProbe != null) {
+                PerformanceBudgets.checkTransition(getClass(), callingPageMethod(), budgetProbe);
+            }
+            return Optional.of(page);
+        } finally {
+            recordStep("transition", "-> " + destination, start);
+        }
+    }
+
+    /**
+     * Waits for this page's readiness or for a failure element of the previous page, whichever comes first.
+     *
+     * @return true if this page is ready, false if the failure element is displayed.
+     * @throws RuntimeException if neither happens within the default wait timeout.
+     */
+    private boolean awaitReadyUnless(By failure) {
+        ExpectedCondition<?> condition = readiness();
+        ExpectedCondition<WebElement> failureShown = ExpectedConditions.visibilityOfElementLocated(failure);
+        long start = System.nanoTime();
+        try {
+            if (condition != null) {
+                wait.until(ExpectedConditions.or(condition, failureShown));
+            }
+            if (failureShown.apply(getDriver()) != null) {
+                log.info("{} not reached, {} is displayed.", getClass().getSimpleName(), failure);
+                return false;
+            }
+            log.debug("{} is ready.", getClass().getSimpleName());
+            return true;
+        } catch (TimeoutException e) {
+            log.error("{} was not ready within {} and {} was not displayed: {}", getClass().getSimpleName(),
+                    SmartWait.DEFAULT_TIMEOUT, failure, condition);
+            throw new RuntimeException(getClass().getSimpleName() + " not ready: " + condition, e);
+        } finally {
+            recordStep("ready", condition + " unless " + failure, start);
+        }
+    }
+
+    /**
+     * @return Name of the page object method that called into BasePage (e.g. "clickCheckout").
+     */
+    private static String callingPageMethod() {
+        return StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).walk(frames -> frames
+                .filter(frame -> frame.getDeclaringClass() != BasePage.class && BasePage.class.isAssignableFrom(frame.getDeclaringClass()))
+                .findFirst()
+                .map(StackWalker.StackFrame::getMethodName)
+                .orElse("?"));
+    }
+
+    /**
+     * Opens a page directly by URL (deep link) and returns it once ready, skipping the pages before it.
+     * The browser must already hold the state the page needs (see StateSeeder); without it the app sends the
+     * browser back to the login form and the readiness wait fails.
+     *
+     * @param path     Path of the page, relative to the base URL (e.g. "cart.html").
+     * @param pageType The page class.
+     * @return The opened page object.
+     */
+    protected static <T extends BasePage> T openDirectly(String path, Class<T> pageType) {
+        T page = Pages.get(pageType);
+        ((BasePage) page).navigateTo(path); // Private members are not accessible through the type variable
+        return page;
+    }
+
+    private void navigateTo(String path) {
+        long start = System.nanoTime();
+        try {
+            getDriver().get(TestEnvironment.baseUrl() + path);
+            elementCache.clear();
+            awaitReady();
+            ActionTrail.page(getDriver(), "after opening " + path);
+        } finally {
+            recordStep("open", path, start);
+        }
+    }
+
+    // --- Probes ---
+    // Unlike isElementDisplayed (which WAITS for visibility), probes answer from the current DOM,
+    // optionally after a short settle window. Use them when "not there" is an expected, normal answer.
+
+    /**
+     * Probes whether an element is displayed, giving the DOM the default settle window to catch up.
+     *
+     * @param locator The By locator strategy to find the element.
+     * @return true if the element is visible now or becomes visible within the settle window.
+     */
+    protected boolean probeElementDisplayed(By locator) {
+        return probeElementDisplayed(locator, DEFAULT_PROBE_SETTLE);
+    }
+
+    /**
+     * Probes whether an element is displayed.
+     *
+     * @param locator The By locator strategy to find the element.
+     * @param settle  How long to keep checking; Duration.ZERO answers from the current DOM with a single check.
+     * @return true if the element is visible now or becomes visible within the settle window.
+     */
+    protected boolean probeElementDisplayed(By locator, Duration settle) {
+        long start = System.nanoTime();
+        try {
+            wait.until(ExpectedConditions.visibilityOfElementLocated(locator), settle);
+            log.debug("Probe: element located by {} is displayed.", locator);
+            return true;
+        } catch (TimeoutException e) {
+            log.debug("Probe: element located by {} is not displayed (settle window {}).", locator, settle);
+            return false;
+        } finally {
+            recordStep("probe", locator, start);
+        }
+    }
+
+    /**
+     * Checks that an element is absent (not present or not visible), giving the DOM the default settle window.
+     *
+     * @param locator The By locator strategy to find the element.
+     * @return true if the element is absent now or disappears within the settle window.
+     */
+    protected boolean isElementAbsent(By locator) {
+        return isElementAbsent(locator, DEFAULT_PROBE_SETTLE);
+    }
+
+    /**
+     * Checks that an element is absent (not present or not visible).
+     *
+     * @param locator The By locator strategy to find the element.
+     * @param settle  How long to keep checking; Duration.ZERO answers from the current DOM with a single check.
+     * @return true if the element is absent now or disappears within the settle window.
+     */
+    protected boolean isElementAbsent(By locator, Duration settle) {
+        long start = System.nanoTime();
+        try {
+            wait.until(ExpectedConditions.invisibilityOfElementLocated(locator), settle);
+            elementCache.evict(locator, "element is absent");
+            log.debug("Element located by {} is absent.", locator);
+            return true;
+        } catch (TimeoutException e) {
+            log.debug("Element located by {} is still displayed after {}.", locator, settle);
+            return false;
+        } finally {
+            recordStep("absent", locator, start);
         }
     }
 
@@ -1,11 +1,21 @@
 package pages;
 
+import core.PerformanceBudget;
 import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Page Object representing the Sauce Demo Shopping Cart Page.
@@ -14,23 +24,44 @@ public class CartPage extends BasePage {
 
     private static final Logger log = LoggerFactory.getLogger(CartPage.class);
 
+    private static final String PAGE_TITLE = "Your Cart";
+    private static final String PATH = "cart.html";
+
     // --- Locators ---
-    private final By pageTitle = By.cssSelector("span.title");
-    private final By cartItem = By.cssSelector("div.cart_item");
-    private final By itemNameLink = By.cssSelector("div.inventory_item_name");
-    private final By itemPrice = By.cssSelector("div.inventory_item_price");
-    private final By removeButton = By.xpath(".//button[contains(text(),'Remove')]");
-    private final By checkoutButton = By.id("checkout");
-    private final By continueShoppingButton = By.id("continue-shopping");
+    // Row selectors are plain CSS strings: they are evaluated in one batched script by RowIndex
+    private static final String CART_ITEM_CSS = "div.cart_item";
+    private static final String ITEM_NAME_CSS = "div.inventory_item_name";
+    private static final String ITEM_PRICE_CSS = "div.inventory_item_price";
+    private static final String REMOVE_TEXT = "Remove"; // Text of the row button
+
+    private static final By TITLE = By.cssSelector("span.title");
+    private static final By CHECKOUT_BUTTON = By.id("checkout");
+    private static final By CONTINUE_SHOPPING_BUTTON = By.id("continue-shopping");
+    private static final By SHOPPING_CART_BADGE = By.cssSelector("span.shopping_cart_badge");
 
 
     // --- Page Actions ---
+
+    /**
+     * Opens this page directly; the browser must hold a seeded session (see StateSeeder).
+     */
+    public static CartPage open() {
+        return openDirectly(PATH, CartPage.class);
+    }
+
+    @Override
+    protected ExpectedCondition<?> readiness() {
+        // Title and checkout button (the cart itself may be empty)
+        return ExpectedConditions.and(
+                textToBeIgnoringCase(TITLE, PAGE_TITLE),
+                ExpectedConditions.presenceOfElementLocated(CHECKOUT_BUTTON));
+    }
     public boolean isPageDisplayed() {
         try {
             // Explicit wait for title visibility might be good here if loading is slow
-            // wait.until(ExpectedConditions.visibilityOfElementLocated(pageTitle));
-            String titleText = getElementText(pageTitle); // Use helper from BasePage
-            boolean isDisplayed = "Your Cart".equalsIgnoreCase(titleText);
+            // wait.until(ExpectedConditions.visibilityOfElementLocated(TITLE));
+            String titleText = getElementText(TITLE); // Use helper from BasePage
+            boolean isDisplayed = PAGE_TITLE.equalsIgnoreCase(titleText);
             log.info("Cart page title is displayed: {}", isDisplayed);
             return isDisplayed;
         } catch (Exception e) {
@@ -39,24 +70,24 @@ public class CartPage extends BasePage {
         }
     }
 
-    private WebElement findCartItemByName(String productName) {
+    /**
+     * Indexes all cart rows (name, price, button) in a single round trip, re-indexing if a required row is missing.
+     */
+    private RowIndex indexCartRows(Collection<String> required) {
+        return indexRows(CART_ITEM_CSS, ITEM_NAME_CSS, ITEM_PRICE_CSS, required);
+    }
+
+    private RowIndex.Row findCartItemByName(String productName) {
         log.debug("Attempting to find cart item by name: {}", productName);
-        List<WebElement> items = getDriver().findElements(cartItem); // Get all item rows
-        log.debug("Found {} items in the cart.", items.size());
-        for (WebElement item : items) {
-            try {
-                WebElement nameElement = item.findElement(itemNameLink); // Find name within the row
-                if (productName.equals(nameElement.getText())) {
-                    log.info("Found cart item: {}", productName);
-                    return item; // Return the row element
-                }
-            } catch (Exception e) {
-                // Log error if name element not found within an item row, but continue searching others
-                log.warn("Could not find item name within a cart row, continuing search.", e);
-            }
+        RowIndex index = indexCartRows(Collections.singleton(productName)); // Get all item rows
+        log.debug("Found {} items in the cart.", index.size());
+        RowIndex.Row item = index.find(productName);
+        if (item != null) {
+            log.info("Found cart item: {}", productName);
+        } else {
+            log.warn("Cart item not found: {}", productName);
         }
-        log.warn("Cart item not found: {}", productName);
-        return null; // Return null if no match after checking all items
+        return item; // Null if no match after checking all items
     }
 
     public boolean isProductDisplayed(String productName) {
@@ -66,31 +97,30 @@ public class CartPage extends BasePage {
     }
 
     public String getProductPrice(String productName) {
-        WebElement itemRow = findCartItemByName(productName);
+        RowIndex.Row itemRow = findCartItemByName(productName);
         if (itemRow != null) {
-            try {
-                WebElement priceElement = itemRow.findElement(itemPrice);
-                String price = priceElement.getText();
-                log.info("Price for product '{}' is: {}", productName, price);
-                return price;
-            } catch (Exception e) {
-                log.error("Could not find price element for product: {}", productName, e);
+            if (itemRow.getPrice() == null) {
+                log.error("Could not find price element for product: {}", productName);
                 return null;
             }
+            log.info("Price for product '{}' is: {}", productName, itemRow.getPrice());
+            return itemRow.getPrice(); // Already read with the row, no extra round trip
         }
         return null;
     }
 
     public CartPage removeProduct(String productName) {
         log.info("Attempting to remove product '{}' from cart.", productName);
-        WebElement itemRow = findCartItemByName(productName);
+        RowIndex.Row itemRow = findCartItemByName(productName);
         if (itemRow != null) {
             try {
-                WebElement removeBtn = itemRow.findElement(removeButton);
-                removeBtn.click(); // Direct click, could wrap in helper
+                if (itemRow.getButton() == null || !REMOVE_TEXT.equalsIgnoreCase(itemRow.getButtonText())) {
+                    throw new IllegalStateException("No 'Remove' button in row (found: " + itemRow.getButtonText() + ")");
+                }
+                itemRow.getButton().click(); // Direct click, could wrap in helper
                 log.info("Clicked 'Remove' for product: {}", productName);
                 // Consider adding a short wait here if the UI takes time to update
-                // E.g., wait.until(ExpectedConditions.stalenessOf(itemRow));
+                // E.g., wait.until(ExpectedConditions.stalenessOf(itemRow.getButton()));
             } catch (Exception e) {
                 log.error("Could not find or click 'Remove' button for product: {}", productName, e);
                 throw new RuntimeException("Failed to find or click Remove button for " + productName, e);
@@ -102,15 +132,51 @@ public class CartPage extends BasePage {
         return this;
     }
 
+    /**
+     * Removes several products with one row scan and one batched click script,
+     * then checks the cart badge once against the number of rows left.
+     *
+     * @param productNames Products to remove (duplicates are ignored); all must be in the cart.
+     * @return This page.
+     */
+    public CartPage removeProducts(Collection<String> productNames) {
+        Set<String> targets = new LinkedHashSet<>(productNames);
+        log.info("Attempting to remove {} product(s) from cart: {}", targets.size(), targets);
+        RowIndex index = indexCartRows(targets);
+        List<WebElement> buttons = new ArrayList<>(targets.size());
+        for (RowIndex.Row row : index.findAll(targets)) {
+            if (row.getButton() == null || !REMOVE_TEXT.equalsIgnoreCase(row.getButtonText())) {
+                throw new IllegalStateException("No 'Remove' button for product '" + row.getName() + "' (found: " + row.getButtonText() + ")");
+            }
+            buttons.add(row.getButton());
+        }
+        clickElementsInOneRoundTrip(buttons, "remove x" + buttons.size());
+        waitForCount(SHOPPING_CART_BADGE, index.size() - buttons.size());
+        return this;
+    }
+
+    /**
+     * Reads the whole cart in one round trip.
+     *
+     * @return Product name to displayed price, in cart order.
+     */
+    public Map<String, String> getCartContents() {
+        Map<String, String> contents = new LinkedHashMap<>();
+        for (RowIndex.Row row : indexCartRows(Collections.<String>emptySet()).rows()) {
+            contents.put(row.getName(), row.getPrice());
+        }
+        log.info("Cart contents: {}", contents);
+        return contents;
+    }
+
+    @PerformanceBudget(wallMillis = 5_000)
     public CheckoutStepOnePage clickCheckout() {
         log.info("Clicking the checkout button.");
-        clickElement(checkoutButton);
-        return new CheckoutStepOnePage();
+        return transition(CHECKOUT_BUTTON, CheckoutStepOnePage.class);
     }
 
     public InventoryPage clickContinueShopping() {
         log.info("Clicking the continue shopping button.");
-        clickElement(continueShoppingButton);
-        return new InventoryPage();
+        return transition(CONTINUE_SHOPPING_BUTTON, InventoryPage.class);
     }
 }
\ No newline at end of file
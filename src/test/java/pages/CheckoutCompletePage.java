@@ -1,6 +1,8 @@
 package pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -9,36 +11,45 @@ public class CheckoutCompletePage extends BasePage {
 
     private static final Logger log = LoggerFactory.getLogger(CheckoutCompletePage.class);
 
+    private static final String PAGE_TITLE = "Checkout: Complete!";
+
     // --- Locators ---
-    private final By pageTitle = By.cssSelector("span.title");
-    private final By completeHeader = By.cssSelector("h2.complete-header");
-    private final By completeText = By.cssSelector("div.complete-text");
-    private final By backHomeButton = By.id("back-to-products");
+    private static final By TITLE = By.cssSelector("span.title");
+    private static final By COMPLETE_HEADER = By.cssSelector("h2.complete-header");
+    private static final By COMPLETE_TEXT = By.cssSelector("div.complete-text");
+    private static final By BACK_HOME_BUTTON = By.id("back-to-products");
 
     // --- Page Actions ---
 
+    @Override
+    protected ExpectedCondition<?> readiness() {
+        // Title and completion header
+        return ExpectedConditions.and(
+                textToBeIgnoringCase(TITLE, PAGE_TITLE),
+                ExpectedConditions.visibilityOfElementLocated(COMPLETE_HEADER));
+    }
+
     public String getCompletionHeader() {
         log.info("Getting completion header text.");
-        return getElementText(completeHeader);
+        return getElementText(COMPLETE_HEADER);
     }
 
     public String getCompletionText() {
         log.info("Getting completion descriptive text.");
-        return getElementText(completeText);
+        return getElementText(COMPLETE_TEXT);
     }
 
     public InventoryPage clickBackHome() {
         log.info("Clicking 'Back Home' button.");
-        clickElement(backHomeButton);
-        return new InventoryPage();
+        return transition(BACK_HOME_BUTTON, InventoryPage.class);
     }
 
     public boolean isPageDisplayed() {
         try {
             // Check both title and header for confirmation
-            String title = getElementText(pageTitle);
-            boolean headerPresent = isElementDisplayed(completeHeader); // More reliable check
-            return "Checkout: Complete!".equalsIgnoreCase(title) && headerPresent;
+            String title = getElementText(TITLE);
+            boolean headerPresent = isElementDisplayed(COMPLETE_HEADER); // More reliable check
+            return PAGE_TITLE.equalsIgnoreCase(title) && headerPresent;
         } catch (Exception e) {
             log.error("Could not verify Checkout Complete page.", e);
             return false;
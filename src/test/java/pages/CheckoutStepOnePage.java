@@ -1,6 +1,8 @@
 package pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -9,31 +11,49 @@ public class CheckoutStepOnePage extends BasePage {
 
     private static final Logger log = LoggerFactory.getLogger(CheckoutStepOnePage.class);
 
+    private static final String PAGE_TITLE = "Checkout: Your Information";
+    private static final String PATH = "checkout-step-one.html";
+
     // --- Locators ---
-    private final By firstNameInput = By.id("first-name");
-    private final By lastNameInput = By.id("last-name");
-    private final By postalCodeInput = By.id("postal-code");
-    private final By continueButton = By.id("continue");
-    private final By cancelButton = By.id("cancel");
-    private final By pageTitle = By.cssSelector("span.title");
+    private static final By FIRST_NAME_INPUT = By.id("first-name");
+    private static final By LAST_NAME_INPUT = By.id("last-name");
+    private static final By POSTAL_CODE_INPUT = By.id("postal-code");
+    private static final By CONTINUE_BUTTON = By.id("continue");
+    private static final By CANCEL_BUTTON = By.id("cancel");
+    private static final By TITLE = By.cssSelector("span.title");
 
     // --- Page Actions ---
 
+    /**
+     * Opens this page directly; the browser must hold a seeded session (see StateSeeder).
+     */
+    public static CheckoutStepOnePage open() {
+        return openDirectly(PATH, CheckoutStepOnePage.class);
+    }
+
+    @Override
+    protected ExpectedCondition<?> readiness() {
+        // Title and the first form field
+        return ExpectedConditions.and(
+                textToBeIgnoringCase(TITLE, PAGE_TITLE),
+                ExpectedConditions.visibilityOfElementLocated(FIRST_NAME_INPUT));
+    }
+
     public CheckoutStepOnePage enterFirstName(String firstName) {
         log.debug("Entering first name: {}", firstName);
-        sendKeysToElement(firstNameInput, firstName);
+        sendKeysToElement(FIRST_NAME_INPUT, firstName);
         return this;
     }
 
     public CheckoutStepOnePage enterLastName(String lastName) {
         log.debug("Entering last name: {}", lastName);
-        sendKeysToElement(lastNameInput, lastName);
+        sendKeysToElement(LAST_NAME_INPUT, lastName);
         return this;
     }
 
     public CheckoutStepOnePage enterPostalCode(String postalCode) {
         log.debug("Entering postal code: {}", postalCode);
-        sendKeysToElement(postalCodeInput, postalCode);
+        sendKeysToElement(POSTAL_CODE_INPUT, postalCode);
         return this;
     }
 
@@ -45,8 +65,7 @@ public class CheckoutStepOnePage extends BasePage {
         enterLastName(lastName);
         enterPostalCode(postalCode);
         log.info("Submitting shipping information.");
-        clickElement(continueButton);
-        return new CheckoutStepTwoPage(); // Navigate to next checkout step
+        return transition(CONTINUE_BUTTON, CheckoutStepTwoPage.class); // Navigate to next checkout step
     }
 
     /**
@@ -54,14 +73,13 @@ public class CheckoutStepOnePage extends BasePage {
      */
     public CartPage clickCancel() {
         log.info("Cancelling checkout step one.");
-        clickElement(cancelButton);
-        return new CartPage(); // Navigate back to cart
+        return transition(CANCEL_BUTTON, CartPage.class); // Navigate back to cart
     }
 
     public boolean isPageDisplayed() {
         try {
-            String title = getElementText(pageTitle);
-            return "Checkout: Your Information".equalsIgnoreCase(title);
+            String title = getElementText(TITLE);
+            return PAGE_TITLE.equalsIgnoreCase(title);
         } catch (Exception e) {
             log.error("Could not verify Checkout Step One page title.", e);
             return false;
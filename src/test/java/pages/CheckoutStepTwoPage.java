@@ -1,11 +1,12 @@
 package pages;
 
 import org.openqa.selenium.By;
-import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List; // Required for findElements
+import java.util.Collections;
 
 /**
  * Page Object for the second step of the checkout process (Order Overview).
@@ -14,19 +15,40 @@ public class CheckoutStepTwoPage extends BasePage {
 
     private static final Logger log = LoggerFactory.getLogger(CheckoutStepTwoPage.class);
 
+    private static final String PAGE_TITLE = "Checkout: Overview";
+    private static final String PATH = "checkout-step-two.html";
+
     // --- Locators ---
-    private final By pageTitle = By.cssSelector("span.title");
-    private final By cartItem = By.cssSelector("div.cart_item");
-    private final By itemNameLink = By.cssSelector("div.inventory_item_name");
-    private final By finishButton = By.id("finish");
-    private final By cancelButton = By.id("cancel");
+    // Row selectors are plain CSS strings: they are evaluated in one batched script by RowIndex
+    private static final String CART_ITEM_CSS = "div.cart_item";
+    private static final String ITEM_NAME_CSS = "div.inventory_item_name";
+    private static final String ITEM_PRICE_CSS = "div.inventory_item_price";
+
+    private static final By TITLE = By.cssSelector("span.title");
+    private static final By FINISH_BUTTON = By.id("finish");
+    private static final By CANCEL_BUTTON = By.id("cancel");
     // Locators for summary info if needed (e.g., item total, tax, total price)
-    // private final By itemTotalPriceLabel = By.cssSelector("div.summary_subtotal_label");
-    // private final By taxLabel = By.cssSelector("div.summary_tax_label");
-    // private final By totalLabel = By.cssSelector("div.summary_total_label");
+    // private static final By ITEM_TOTAL_PRICE_LABEL = By.cssSelector("div.summary_subtotal_label");
+    // private static final By TAX_LABEL = By.cssSelector("div.summary_tax_label");
+    // private static final By TOTAL_LABEL = By.cssSelector("div.summary_total_label");
 
     // --- Page Actions ---
 
+    /**
+     * Opens this page directly; the browser must hold a seeded session (see StateSeeder).
+     */
+    public static CheckoutStepTwoPage open() {
+        return openDirectly(PATH, CheckoutStepTwoPage.class);
+    }
+
+    @Override
+    protected ExpectedCondition<?> readiness() {
+        // Title and finish button
+        return ExpectedConditions.and(
+                textToBeIgnoringCase(TITLE, PAGE_TITLE),
+                ExpectedConditions.presenceOfElementLocated(FINISH_BUTTON));
+    }
+
     /**
      * Clicks the 'Finish' button to complete the purchase.
      *
@@ -34,33 +56,25 @@ public class CheckoutStepTwoPage extends BasePage {
      */
     public CheckoutCompletePage clickFinish() {
         log.info("Clicking the finish button.");
-        clickElement(finishButton);
-        return new CheckoutCompletePage();
+        return transition(FINISH_BUTTON, CheckoutCompletePage.class);
     }
 
     public InventoryPage clickCancel() {
         log.info("Cancelling checkout step two.");
-        clickElement(cancelButton);
-        return new InventoryPage(); // Navigate back to inventory
+        return transition(CANCEL_BUTTON, InventoryPage.class); // Navigate back to inventory
     }
 
-    private WebElement findSummaryItemByName(String productName) {
+    private RowIndex.Row findSummaryItemByName(String productName) {
         log.debug("Attempting to find summary item by name: {}", productName);
-        List<WebElement> items = getDriver().findElements(cartItem);
-        log.debug("Found {} items in the summary.", items.size());
-        for (WebElement item : items) {
-            try {
-                WebElement nameElement = item.findElement(itemNameLink);
-                if (productName.equals(nameElement.getText())) {
-                    log.info("Found summary item: {}", productName);
-                    return item;
-                }
-            } catch (Exception e) {
-                log.warn("Could not find item name within a summary row, continuing search.", e);
-            }
+        RowIndex index = indexRows(CART_ITEM_CSS, ITEM_NAME_CSS, ITEM_PRICE_CSS, Collections.singleton(productName)); // One round trip unless the row is late
+        log.debug("Found {} items in the summary.", index.size());
+        RowIndex.Row item = index.find(productName);
+        if (item != null) {
+            log.info("Found summary item: {}", productName);
+        } else {
+            log.warn("Summary item not found: {}", productName);
         }
-        log.warn("Summary item not found: {}", productName);
-        return null;
+        return item;
     }
 
     public boolean isProductDisplayed(String productName) {
@@ -72,8 +86,8 @@ public class CheckoutStepTwoPage extends BasePage {
 
     public boolean isPageDisplayed() {
         try {
-            String title = getElementText(pageTitle);
-            return "Checkout: Overview".equalsIgnoreCase(title);
+            String title = getElementText(TITLE);
+            return PAGE_TITLE.equalsIgnoreCase(title);
         } catch (Exception e) {
             log.error("Could not verify Checkout Step Two page title.", e);
             return false;
@@ -81,8 +95,8 @@ public class CheckoutStepTwoPage extends BasePage {
     }
 
     // Add methods to get total price, tax, etc., if needed for assertions
-    // public String getItemTotal() { return getElementText(itemTotalPriceLabel); }
-    // public String getTax() { return getElementText(taxLabel); }
-    // public String getTotalPrice() { return getElementText(totalLabel); }
+    // public String getItemTotal() { return getElementText(ITEM_TOTAL_PRICE_LABEL); }
+    // public String getTax() { return getElementText(TAX_LABEL); }
+    // public String getTotalPrice() { return getElementText(TOTAL_LABEL); }
 
 }
\ No newline at end of file
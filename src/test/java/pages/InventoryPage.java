@@ -1,12 +1,18 @@
 package pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * Page Object representing the Sauce Demo Inventory Page.
@@ -16,21 +22,42 @@ public class InventoryPage extends BasePage {
 
     private static final Logger log = LoggerFactory.getLogger(InventoryPage.class);
 
+    private static final String PAGE_TITLE = "Products";
+    private static final String PATH = "inventory.html";
+
     // --- Locators ---
-    private final By pageTitle = By.cssSelector("span.title");
-    private final By inventoryItem = By.cssSelector("div.inventory_item");
-    private final By inventoryItemName = By.cssSelector("div.inventory_item_name");
-    private final By addToCartButton = By.xpath(".//button[contains(text(),'Add to cart')]"); // Relative XPath to find Add button within an item
-    // Note: Using XPath starts with "." to search within the context of a parent element later
-    private final By shoppingCartLink = By.id("shopping_cart_container");
-    private final By shoppingCartBadge = By.cssSelector("span.shopping_cart_badge");
+    // Row selectors are plain CSS strings: they are evaluated in one batched script by RowIndex
+    private static final String INVENTORY_ITEM_CSS = "div.inventory_item";
+    private static final String INVENTORY_ITEM_NAME_CSS = "div.inventory_item_name";
+    private static final String INVENTORY_ITEM_PRICE_CSS = "div.inventory_item_price";
+    private static final String ADD_TO_CART_TEXT = "Add to cart"; // Text of the row button when the product is not in the cart
+    private static final String REMOVE_TEXT = "Remove"; // Text of the row button when the product is in the cart
+
+    private static final By TITLE = By.cssSelector("span.title");
+    private static final By SHOPPING_CART_LINK = By.id("shopping_cart_container");
+    private static final By SHOPPING_CART_BADGE = By.cssSelector("span.shopping_cart_badge");
 
     // --- Page Actions ---
 
+    /**
+     * Opens this page directly; the browser must hold a seeded session (see StateSeeder).
+     */
+    public static InventoryPage open() {
+        return openDirectly(PATH, InventoryPage.class);
+    }
+
+    @Override
+    protected ExpectedCondition<?> readiness() {
+        // Title and first product row: enough to act on the page without waiting for every image
+        return ExpectedConditions.and(
+                textToBeIgnoringCase(TITLE, PAGE_TITLE),
+                ExpectedConditions.presenceOfElementLocated(By.cssSelector(INVENTORY_ITEM_CSS)));
+    }
+
     public boolean isPageDisplayed() {
         try {
-            String titleText = getElementText(pageTitle);
-            boolean isDisplayed = "Products".equalsIgnoreCase(titleText);
+            String titleText = getElementText(TITLE);
+            boolean isDisplayed = PAGE_TITLE.equalsIgnoreCase(titleText);
             log.info("Inventory page title is displayed: {}", isDisplayed);
             return isDisplayed;
         } catch (Exception e) {
@@ -39,31 +66,36 @@ public class InventoryPage extends BasePage {
         }
     }
 
-    private WebElement findProductItemByName(String productName) {
-        log.debug("Attempting to find product item by name: {}", productName);
+    /**
+     * Indexes all inventory rows (name, price, button) in a single round trip, re-indexing if a required row is missing.
+     */
+    private RowIndex indexProductRows(Collection<String> required) {
+        return indexRows(INVENTORY_ITEM_CSS, INVENTORY_ITEM_NAME_CSS, INVENTORY_ITEM_PRICE_CSS, required);
+    }
 
-        List<WebElement> items = getDriver().findElements(inventoryItem);
-        log.debug("Found {} inventory items on the page.", items.size());
-        for (WebElement item : items) {
-            // Find the name element *within* the context of the current item
-            WebElement nameElement = item.findElement(inventoryItemName);
-            if (productName.equals(nameElement.getText())) {
-                log.info("Found product item: {}", productName);
-                return item;
-            }
+    private RowIndex.Row findProductItemByName(String productName) {
+        log.debug("Attempting to find product item by name: {}", productName);
+        RowIndex index = indexProductRows(Collections.singleton(productName));
+        log.debug("Found {} inventory items on the page.", index.size());
+        RowIndex.Row item = index.find(productName);
+        if (item != null) {
+            log.info("Found product item: {}", productName);
+        } else {
+            log.warn("Product item not found: {}", productName);
         }
-        log.warn("Product item not found: {}", productName);
-        return null;
+        return item;
     }
 
     public InventoryPage addProductToCart(String productName) {
         log.info("Attempting to add product '{}' to cart.", productName);
-        WebElement productItem = findProductItemByName(productName);
+        RowIndex.Row productItem = findProductItemByName(productName);
         if (productItem != null) {
-            // Find the Add to Cart button *within* the product item's context
+            // Use the button handle captured with the row, but only if it is still the 'Add to cart' button
             try {
-                WebElement addButton = productItem.findElement(addToCartButton); // Find relative to productItem
-                addButton.click(); // Direct click here, could wrap in a helper if needed
+                if (productItem.getButton() == null || !ADD_TO_CART_TEXT.equalsIgnoreCase(productItem.getButtonText())) {
+                    throw new IllegalStateException("No 'Add to cart' button in row (found: " + productItem.getButtonText() + ")");
+                }
+                productItem.getButton().click(); // Direct click here, could wrap in a helper if needed
                 log.info("Clicked 'Add to cart' for product: {}", productName);
             } catch (Exception e) {
                 log.error("Could not find or click 'Add to cart' button for product: {}", productName, e);
@@ -76,27 +108,51 @@ public class InventoryPage extends BasePage {
         return this;
     }
 
+    /**
+     * Adds several products to the cart with one row scan and one batched click script,
+     * then checks the cart badge once: badge = products already in the cart + products added.
+     *
+     * @param productNames Products to add (duplicates are ignored); none of them may already be in the cart.
+     * @return This page.
+     */
+    public InventoryPage addProductsToCart(Collection<String> productNames) {
+        Set<String> targets = new LinkedHashSet<>(productNames);
+        log.info("Attempting to add {} product(s) to cart: {}", targets.size(), targets);
+        RowIndex index = indexProductRows(targets);
+        List<WebElement> buttons = new ArrayList<>(targets.size());
+        for (RowIndex.Row row : index.findAll(targets)) {
+            if (row.getButton() == null || !ADD_TO_CART_TEXT.equalsIgnoreCase(row.getButtonText())) {
+                throw new IllegalStateException("No 'Add to cart' button for product '" + row.getName() + "' (found: " + row.getButtonText() + ")");
+            }
+            buttons.add(row.getButton());
+        }
+        int expectedCount = index.countButtonsWithText(REMOVE_TEXT) + buttons.size();
+        clickElementsInOneRoundTrip(buttons, "add to cart x" + buttons.size());
+        waitForCount(SHOPPING_CART_BADGE, expectedCount);
+        return this;
+    }
+
     public CartPage goToCart() {
         log.info("Navigating to the shopping cart.");
-        clickElement(shoppingCartLink);
-        return new CartPage();
+        return transition(SHOPPING_CART_LINK, CartPage.class);
     }
 
     /**
      * Gets the number displayed on the shopping cart badge.
      * Returns 0 if the badge is not displayed (cart is empty).
+     * Uses a probe, so an empty cart answers within the short settle window instead of the full wait timeout.
      *
      * @return The number of items in the cart as an int.
      */
     public int getCartItemCount() {
-        if (isElementDisplayed(shoppingCartBadge)) {
+        if (probeElementDisplayed(SHOPPING_CART_BADGE)) {
             try {
-                String countText = getElementText(shoppingCartBadge);
+                String countText = getElementText(SHOPPING_CART_BADGE);
                 int count = Integer.parseInt(countText);
                 log.info("Cart badge count: {}", count);
                 return count;
             } catch (NumberFormatException e) {
-                log.error("Could not parse cart badge text '{}' to integer.", getElementText(shoppingCartBadge), e);
+                log.error("Could not parse cart badge text '{}' to integer.", getElementText(SHOPPING_CART_BADGE), e);
                 return 0; // Or handle error differently
             }
         }
@@ -105,10 +161,7 @@ public class InventoryPage extends BasePage {
     }
 
     public List<String> getDisplayedProductNames() {
-        List<WebElement> nameElements = getDriver().findElements(inventoryItemName);
-        List<String> names = nameElements.stream()
-                .map(WebElement::getText)
-                .collect(Collectors.toList());
+        List<String> names = indexProductRows(Collections.<String>emptySet()).names(); // One round trip instead of one getText per product
         log.info("Found product names: {}", names);
         return names;
     }
@@ -0,0 +1,48 @@
+package pages;
+
+import core.SessionContext;
+
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Page object registry: hands out this session's instance of a page class, creating it on first use
+ * (see SessionContext). Page objects are stateless apart from their element cache, so reusing them is safe;
+ * BasePage.transition() and openDirectly() clear that cache whenever the page is entered again.
+ * Tight data-driven loops (PurchaseFlowRunner) then reuse the same few instances for every row.
+ * Constructing a page with "new" still works, it just isn't shared.
+ */
+public class Pages {
+
+    // No-arg constructor per page class, looked up once per JVM
+    private static final Map<Class<?>, Constructor<?>> constructors = new ConcurrentHashMap<>();
+
+    /**
+     * @param type The page class.
+     * @return The current session's instance of the page.
+     */
+    public static <T extends BasePage> T get(Class<T> type) {
+        return SessionContext.current().page(type, () -> instantiate(type));
+    }
+
+    private static <T extends BasePage> T instantiate(Class<T> type) {
+        try {
+            Constructor<?> constructor = constructors.computeIfAbsent(type, key -> {
+                try {
+                    return key.getDeclaredConstructor();
+                } catch (NoSuchMethodException e) {
+                    throw new RuntimeException("Page class " + key.getName() + " needs a no-arg constructor", e);
+                }
+            });
+            return type.cast(constructor.newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not create page " + type.getSimpleName(), e);
+        }
+    }
+
+    // Private constructor to prevent instantiation of this utility class
+    private Pages() {
+        throw new IllegalStateException("Utility class - Do not instantiate");
+    }
+}
@@ -0,0 +1,191 @@
+package pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory snapshot of a list of item rows (inventory items, cart rows, checkout summary rows).
+ * Every row's name, price and button handle are pulled in ONE script execution, so looking up a row by name
+ * costs a single WebDriver round trip instead of one findElement + getText per row.
+ * The snapshot is not live: build a new index after the page changes. The script does not wait for rows that are
+ * still rendering; page objects index through BasePage.indexRows, which re-indexes when a required row is missing.
+ */
+public class RowIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RowIndex.class);
+
+    // arguments: [0] row selector, [1] name selector, [2] price selector (may be null).
+    // innerText is used because it matches what WebElement.getText() returns for visible text.
+    private static final String INDEX_ROWS_SCRIPT =
+            "var rows = document.querySelectorAll(arguments[0]);"
+                    + "var result = [];"
+                    + "for (var i = 0; i < rows.length; i++) {"
+                    + "  var name = rows[i].querySelector(arguments[1]);"
+                    + "  var price = arguments[2] ? rows[i].querySelector(arguments[2]) : null;"
+                    + "  var button = rows[i].querySelector('button');"
+                    + "  result.push({"
+                    + "    name: name ? name.innerText.trim() : null,"
+                    + "    price: price ? price.innerText.trim() : null,"
+                    + "    buttonText: button ? button.innerText.trim() : null,"
+                    + "    button: button"
+                    + "  });"
+                    + "}"
+                    + "return result;";
+
+    private final List<Row> rows;
+    private final Map<String, Row> rowsByName;
+
+    private RowIndex(List<Row> rows) {
+        this.rows = Collections.unmodifiableList(rows);
+        this.rowsByName = new LinkedHashMap<>();
+        for (Row row : rows) {
+            if (row.getName() != null) {
+                rowsByName.putIfAbsent(row.getName(), row); // First match wins, same as the old linear scans
+            }
+        }
+    }
+
+    /**
+     * Indexes every row currently on the page with a single script execution.
+     *
+     * @param driver       The WebDriver for the current thread.
+     * @param rowSelector  CSS selector matching one element per row.
+     * @param nameSelector CSS selector of the name element, relative to the row.
+     * @param priceSelector CSS selector of the price element, relative to the row, or null if not needed.
+     * @return The row index.
+     */
+    @SuppressWarnings("unchecked")
+    public static RowIndex build(WebDriver driver, String rowSelector, String nameSelector, String priceSelector) {
+        Object result = ((JavascriptExecutor) driver).executeScript(INDEX_ROWS_SCRIPT, rowSelector, nameSelector, priceSelector);
+        List<Row> rows = new ArrayList<>();
+        if (result instanceof List) {
+            for (Object entry : (List<Object>) result) {
+                Map<String, Object> values = (Map<String, Object>) entry;
+                rows.add(new Row(
+                        (String) values.get("name"),
+                        (String) values.get("price"),
+                        (String) values.get("buttonText"),
+                        (WebElement) values.get("button")));
+            }
+        }
+        log.debug("Indexed {} row(s) matching '{}' in one round trip.", rows.size(), rowSelector);
+        return new RowIndex(rows);
+    }
+
+    /**
+     * Finds a row by its exact name.
+     *
+     * @param name The row name (e.g. a product name).
+     * @return The row, or null if no row has that name.
+     */
+    public Row find(String name) {
+        return rowsByName.get(name);
+    }
+
+    /**
+     * @return True if every given name has a row.
+     */
+    public boolean containsAll(Collection<String> names) {
+        return rowsByName.keySet().containsAll(names);
+    }
+
+    /**
+     * @return All row names in page order.
+     */
+    public List<String> names() {
+        List<String> names = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            names.add(row.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Looks up several rows by name at once, from this single snapshot.
+     *
+     * @param names The row names.
+     * @return The rows, in the order of the given names.
+     * @throws RuntimeException naming every row that was not found.
+     */
+    public List<Row> findAll(Collection<String> names) {
+        List<Row> found = new ArrayList<>(names.size());
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            Row row = rowsByName.get(name);
+            if (row == null) {
+                missing.add(name);
+            } else {
+                found.add(row);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Row(s) not found: " + missing);
+        }
+        return found;
+    }
+
+    /**
+     * @return Number of rows whose button currently shows the given text (e.g. "Remove").
+     */
+    public int countButtonsWithText(String buttonText) {
+        int count = 0;
+        for (Row row : rows) {
+            if (buttonText.equalsIgnoreCase(row.getButtonText())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public List<Row> rows() {
+        return rows;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * One indexed row. Text values are plain strings; only the button is a live element handle.
+     */
+    public static class Row {
+
+        private final String name;
+        private final String price;
+        private final String buttonText;
+        private final WebElement button;
+
+        Row(String name, String price, String buttonText, WebElement button) {
+            this.name = name;
+            this.price = price;
+            this.buttonText = buttonText;
+            this.button = button;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getPrice() {
+            return price;
+        }
+
+        public String getButtonText() {
+            return buttonText;
+        }
+
+        public WebElement getButton() {
+            return button;
+        }
+    }
+}
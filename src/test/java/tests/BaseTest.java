@@ -1,87 +1,72 @@
 package tests;
 
 import core.DriverManager;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import core.FailureArtifactsExtension;
+import core.NetworkInterception;
+import core.NetworkPolicy;
+import core.PerformanceBudgetExtension;
+import core.StepMetrics;
+import core.TestEnvironment;
+import core.TestLogContextExtension;
+import core.TestOutcomeExtension;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Duration;
-
 /**
  * Base class for all UI tests.
  * Handles WebDriver setup before each test and teardown after each test.
- * Uses DriverManager to ensure thread safety.
+ * Uses DriverManager to ensure thread safety. Sessions come from the DriverManager pool and are
+ * reused across tests; a session used by a failing test is evicted (see TestOutcomeExtension).
+ * Each test's log output is buffered and flushed as one block (see TestLogContextExtension).
+ * Images, fonts and analytics are blocked and static assets served from memory by default (see NetworkPolicy);
+ * a suite can annotate its own class with a different @NetworkPolicy.
+ * Tests and page transitions annotated with @PerformanceBudget are checked after each test (see PerformanceBudgets).
  */
+@NetworkPolicy
+// PerformanceBudgetExtension comes first so its after-callback runs last: a budget failure neither evicts the
+// session nor triggers failure artifacts
+@ExtendWith({PerformanceBudgetExtension.class, TestLogContextExtension.class, TestOutcomeExtension.class, FailureArtifactsExtension.class})
 public abstract class BaseTest { // Abstract: cannot be instantiated directly
 
     private static final Logger log = LoggerFactory.getLogger(BaseTest.class);
 
-    // Default browser, can be overridden by system property
-    private static final String DEFAULT_BROWSER = "chrome";
-    private static final String BASE_URL = "https://www.saucedemo.com/"; // Define base URL
+    // Public Sauce Demo by default; -Dstorefront=local serves an embedded copy instead (see TestEnvironment)
+    private static final String BASE_URL = TestEnvironment.baseUrl();
 
+    // Request interception for the current test, null if disabled or unsupported by the browser
+    private NetworkInterception networkInterception;
 
     @BeforeEach // This method runs before each @Test method in subclasses
     void setUp() {
         log.info("==================== Setting up WebDriver ====================");
-        String browser = System.getProperty("browser", DEFAULT_BROWSER).toLowerCase();
-        WebDriver driver;
-
-        log.info("Requested browser: {}", browser);
-
+        long start = System.nanoTime();
         try {
-            switch (browser) {
-                case "firefox":
-                    WebDriverManager.firefoxdriver().setup(); // Setup Firefox driver
-                    // FirefoxOptions options = new FirefoxOptions(); // Add options if needed
-                    // driver = new FirefoxDriver(options);
-                    driver = new FirefoxDriver();
-                    break;
-                case "chrome":
-                default: // Default to Chrome if browser property is invalid or not set
-                    WebDriverManager.chromedriver().setup(); // Setup Chrome driver
-                    ChromeOptions chromeOptions = new ChromeOptions();
-                    // Example options (uncomment/add as needed):
-                    // chromeOptions.addArguments("--headless"); // Run headless (no UI)
-                    // chromeOptions.addArguments("--disable-gpu"); // Often needed for headless
-                    // chromeOptions.addArguments("--window-size=1920,1080"); // Set window size
-                    // chromeOptions.addArguments("--no-sandbox"); // May be needed in Docker/Linux
-                    // chromeOptions.addArguments("--disable-dev-shm-usage"); // May be needed in Docker/Linux
-                    driver = new ChromeDriver(chromeOptions);
-                    break;
-                // Open to extension by adding cases for other browsers (Edge, Safari) if needed
+            // Borrow a warm session from the pool (launches a new browser only when none is available)
+            WebDriver driver = DriverManager.checkoutDriver();
+            log.info("WebDriver instance checked out and set for thread: {}", Thread.currentThread().getName());
+            networkInterception = NetworkInterception.install(driver, getClass());
+
+            // Pooled sessions are reset onto the base URL in the background, so this is usually already done.
+            // That load ran before the interception existed, so the landing page is not intercepted: a few
+            // unblocked images are cheaper than loading the page a second time.
+            if (BASE_URL.equals(driver.getCurrentUrl())) {
+                log.info("Session already parked on base URL: {}", BASE_URL);
+            } else {
+                log.info("Navigating to base URL: {}", BASE_URL);
+                driver.get(BASE_URL);
+                log.info("Navigation to base URL complete.");
             }
 
-            // Store the created driver instance in DriverManager for the current thread
-            DriverManager.setDriver(driver);
-            log.info("WebDriver instance created and set for thread: {}", Thread.currentThread().getName());
-
-            // Basic configurations applied to the driver instance
-
-            DriverManager.getDriver().manage().window().maximize(); // Maximize browser window
-
-            // Implicit waits are generally discouraged when using explicit waits properly.
-            // Set to 0 to rely solely on explicit waits.
-            DriverManager.getDriver().manage().timeouts().implicitlyWait(Duration.ofSeconds(1));
-
-            log.info("WebDriver basic configuration applied.");
-
-
-            log.info("Navigating to base URL: {}", BASE_URL);
-            DriverManager.getDriver().get(BASE_URL);
-            log.info("Navigation to base URL complete.");
-            DriverManager.getDriver().manage().timeouts().implicitlyWait(Duration.ofSeconds(1));
-
-
         } catch (Exception e) {
             log.error("!!! WebDriver setup failed !!!", e);
+            DriverManager.markSessionFailed(); // Don't hand a broken session to the next test
             throw new RuntimeException("WebDriver setup failed", e); // Fail fast
+        } finally {
+            StepMetrics.record(BaseTest.class, "setUp", "time to first action", System.nanoTime() - start);
         }
         log.info("==================== WebDriver Setup Complete ====================");
     }
@@ -89,8 +74,12 @@ public abstract class BaseTest { // Abstract: cannot be instantiated directly
     @AfterEach // This method runs after each @Test method in subclasses
     void tearDown() {
         log.info("==================== Tearing down WebDriver ====================");
-        // Quit the driver and remove from ThreadLocal using DriverManager
-        DriverManager.quitDriver();
+        if (networkInterception != null) {
+            networkInterception.close(); // Logs the requests and bytes this test saved
+            networkInterception = null;
+        }
+        // Return the session to the pool (evicted if the test failed) and remove it from ThreadLocal
+        DriverManager.releaseDriver();
         log.info("================== WebDriver Teardown Complete ==================");
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package tests;
+
+import core.DriverManager;
+import core.Shard;
+import core.SplitAcrossShards;
+import core.TestEnvironment;
+import core.TestLogContextExtension;
+import flows.PurchaseFlowRow;
+import flows.PurchaseFlowRunner;
+import flows.PurchaseMatrix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the purchase flow for every row of a user/product matrix (see flows.PurchaseMatrix).
+ * Does not extend BaseTest: the rows are fanned out over the runner's own workers, each with its own pooled driver.
+ * <p>
+ * -Dpurchase.matrix selects the matrix (classpath resource or file, .csv or .json),
+ * -Dflows.workers the number of parallel workers (default: the driver pool size, so every worker gets a session).
+ * In a sharded run every shard runs this class on its own share of the rows.
+ */
+@SplitAcrossShards
+@ExtendWith(TestLogContextExtension.class)
+public class DataDrivenPurchaseTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DataDrivenPurchaseTest.class);
+
+    private static final String DEFAULT_MATRIX = "data/purchase-matrix.csv";
+
+    @Test
+    @DisplayName("Should complete a purchase for every row of the purchase matrix")
+    void purchaseMatrix() {
+        String matrix = System.getProperty("purchase.matrix", DEFAULT_MATRIX);
+        int workers = Integer.getInteger("flows.workers", DriverManager.pool().getMaxSize());
+        PurchaseFlowRunner runner = new PurchaseFlowRunner(TestEnvironment.baseUrl(), workers);
+
+        PurchaseFlowRunner.RunSummary summary;
+        try (Stream<PurchaseFlowRow> rows = PurchaseMatrix.open(matrix)) {
+            summary = runner.run(rows.filter(row -> Shard.ownsRow(row.getRowNumber())));
+        }
+        log.info("Purchase matrix '{}' on {} worker(s), {}: {}", matrix, workers, Shard.describe(), summary);
+
+        if (!Shard.isActive()) { // A shard may legitimately get no rows from a small matrix
+            assertFalse(summary.getResults().isEmpty(), "Purchase matrix is empty: " + matrix);
+        }
+        assertEquals(0, summary.getFailedCount(), "Failed purchase flows:\n" + summary.describeFailures());
+    }
+}
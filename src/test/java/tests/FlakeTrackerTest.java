@@ -0,0 +1,189 @@
+package tests;
+
+import core.ActionTrail;
+import core.FlakeTracker;
+import core.StepRetry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * FlakeTracker quarantine and report, and the StepRetry rules that feed them. No browser needed.
+ * Statistics are JVM-wide, so every test uses locators with its own unique prefix and the configured thresholds
+ * ("step.flake.minSamples", "step.flake.quarantineRate", "step.retry.max").
+ */
+public class FlakeTrackerTest {
+
+    private final String prefix = "FlakeTrackerTest-" + UUID.randomUUID() + " ";
+
+    @AfterEach
+    void endTrail() {
+        ActionTrail.end();
+    }
+
+    @Test
+    @DisplayName("Should quarantine a locator only once it has enough calls")
+    void quarantinesAfterMinSamples() {
+        String locator = prefix + "always retried";
+        for (int i = 1; i < FlakeTracker.minSamples(); i++) {
+            FlakeTracker.record(locator, 1, true);
+            assertFalse(FlakeTracker.isQuarantined(locator), "Quarantined after only " + i + " call(s).");
+        }
+        FlakeTracker.record(locator, 1, true);
+        assertTrue(FlakeTracker.isQuarantined(locator));
+    }
+
+    @Test
+    @DisplayName("Should quarantine a locator when its retry rate reaches the threshold, not below")
+    void quarantinesAtRetryRate() {
+        int calls = 10 * FlakeTracker.minSamples();
+        int retriedAtThreshold = (int) Math.ceil(FlakeTracker.quarantineRate() * calls);
+        assumeTrue(retriedAtThreshold >= 1 && retriedAtThreshold <= calls, "Threshold outside (0, 1]");
+
+        String below = prefix + "below threshold";
+        String at = prefix + "at threshold";
+        recordCalls(below, calls, retriedAtThreshold - 1, 0);
+        recordCalls(at, calls, retriedAtThreshold, 0);
+
+        assertFalse(FlakeTracker.isQuarantined(below), (retriedAtThreshold - 1) + " of " + calls + " is below the threshold.");
+        assertTrue(FlakeTracker.isQuarantined(at), retriedAtThreshold + " of " + calls + " reaches the threshold.");
+        assertFalse(FlakeTracker.isQuarantined(prefix + "never seen"));
+    }
+
+    @Test
+    @DisplayName("Should report retried locators only, quarantined first, then by retry rate")
+    void ordersReport() {
+        int minSamples = FlakeTracker.minSamples();
+        assumeTrue(minSamples >= 3, "Needs step.flake.minSamples >= 3 for the unquarantined rows");
+        int calls = 10 * minSamples;
+        recordCalls(prefix + "quarantined, always retried", minSamples, minSamples, 1);
+        recordCalls(prefix + "quarantined, at threshold", calls, (int) Math.ceil(FlakeTracker.quarantineRate() * calls), 0);
+        recordCalls(prefix + "too few calls, always retried", minSamples - 1, minSamples - 1, 0);
+        recordCalls(prefix + "too few calls, half retried", 2, 1, 0);
+        recordCalls(prefix + "never retried", calls, 0, 0);
+
+        List<Map<String, Object>> rows = FlakeTracker.report().stream()
+                .filter(row -> ((String) row.get("locator")).startsWith(prefix))
+                .collect(Collectors.toList());
+
+        assertEquals(4, rows.size(), rows.toString());
+        assertEquals(prefix + "quarantined, always retried", rows.get(0).get("locator"));
+        assertEquals(prefix + "quarantined, at threshold", rows.get(1).get("locator"));
+        assertEquals(prefix + "too few calls, always retried", rows.get(2).get("locator"));
+        assertEquals(prefix + "too few calls, half retried", rows.get(3).get("locator"));
+        assertEquals(1L, rows.get(0).get("failedAfterRetry"));
+        assertEquals(Boolean.FALSE, rows.get(2).get("quarantined"));
+    }
+
+    @Test
+    @DisplayName("Should retry stale and intercepted steps, then return the step's result")
+    void retriesTransientErrors() {
+        assumeTrue(StepRetry.maxRetries() >= 2, "Needs step.retry.max >= 2");
+        String locator = prefix + "transient";
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger beforeRetry = new AtomicInteger();
+
+        String result = StepRetry.run(locator, () -> {
+            switch (attempts.incrementAndGet()) {
+                case 1:
+                    throw new StaleElementReferenceException("re-rendered");
+                case 2:
+                    throw new ElementClickInterceptedException("covered");
+                default:
+                    return "clicked";
+            }
+        }, beforeRetry::incrementAndGet);
+
+        assertEquals("clicked", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, beforeRetry.get(), "beforeRetry should run before each retry.");
+        Map<String, Object> row = reportRow(locator);
+        assertEquals(1L, row.get("retried"));
+        assertEquals(0L, row.get("failedAfterRetry"));
+    }
+
+    @Test
+    @DisplayName("Should give up after step.retry.max retries and rethrow the last error")
+    void givesUpAfterMaxRetries() {
+        String locator = prefix + "always stale";
+        AtomicInteger attempts = new AtomicInteger();
+
+        StaleElementReferenceException error = assertThrows(StaleElementReferenceException.class, () -> StepRetry.run(locator, () -> {
+            throw new StaleElementReferenceException("attempt " + attempts.incrementAndGet());
+        }, () -> { }));
+
+        assertEquals(StepRetry.maxRetries() + 1, attempts.get());
+        assertTrue(error.getMessage().startsWith("attempt " + attempts.get()), "The last error should be rethrown.");
+        if (StepRetry.maxRetries() > 0) {
+            assertEquals(1L, reportRow(locator).get("failedAfterRetry"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not retry any other exception")
+    void doesNotRetryOtherErrors() {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger beforeRetry = new AtomicInteger();
+
+        assertThrows(NoSuchElementException.class, () -> StepRetry.run(prefix + "missing", () -> {
+            attempts.incrementAndGet();
+            throw new NoSuchElementException("not there");
+        }, beforeRetry::incrementAndGet));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, beforeRetry.get());
+        assertTrue(FlakeTracker.report().stream().noneMatch(row -> row.get("locator").equals(prefix + "missing")),
+                "A step that was never retried should not be reported.");
+    }
+
+    @Test
+    @DisplayName("Should flag retries of a quarantined locator in the action trail")
+    void flagsQuarantinedRetries() {
+        assumeTrue(StepRetry.maxRetries() >= 1, "Needs step.retry.max >= 1");
+        String locator = prefix + "known flake";
+        recordCalls(locator, FlakeTracker.minSamples(), FlakeTracker.minSamples(), 0);
+        ActionTrail.begin();
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepRetry.run(locator, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new StaleElementReferenceException("re-rendered");
+            }
+            return null;
+        }, () -> { });
+
+        String trail = ActionTrail.actions();
+        assertTrue(trail.contains("retry " + locator + " [quarantined flaky locator] after StaleElementReferenceException"), trail);
+    }
+
+    /**
+     * Records clean calls first, then retried ones, so the retry rate only reaches its final value at the last call.
+     */
+    private static void recordCalls(String locator, int calls, int retried, int failedAfterRetry) {
+        for (int i = 0; i < calls - retried; i++) {
+            FlakeTracker.record(locator, 0, true);
+        }
+        for (int i = 0; i < retried; i++) {
+            FlakeTracker.record(locator, 1, i >= failedAfterRetry);
+        }
+    }
+
+    private static Map<String, Object> reportRow(String locator) {
+        return FlakeTracker.report().stream()
+                .filter(row -> row.get("locator").equals(locator))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No report row for " + locator));
+    }
+}
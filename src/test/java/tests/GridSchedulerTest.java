@@ -0,0 +1,99 @@
+package tests;
+
+import com.sun.net.httpserver.HttpServer;
+import core.GridScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GridScheduler against a fake Grid: a localhost /status endpoint whose slots the test frees and fills.
+ * No browser needed.
+ */
+public class GridSchedulerTest {
+
+    private HttpServer fakeGrid;
+    private volatile String status;
+    private String gridUrl;
+
+    @BeforeEach
+    void startFakeGrid() throws IOException {
+        fakeGrid = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        fakeGrid.createContext("/status", exchange -> {
+            byte[] body = status.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        fakeGrid.start();
+        gridUrl = "http://127.0.0.1:" + fakeGrid.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopFakeGrid() {
+        fakeGrid.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should spread sessions across browsers by free slots")
+    void spreadsAcrossBrowsers() {
+        status = status(node("UP", slot("chrome", false), slot("firefox", false), slot("firefox", false)));
+        GridScheduler scheduler = new GridScheduler(gridUrl, 50, Duration.ofSeconds(2));
+
+        assertEquals("firefox", scheduler.acquire(Arrays.asList("chrome", "firefox")), "Browser with most free slots goes first.");
+        // Not yet visible in /status: the reservation leaves one usable slot each, so the less used browser wins
+        assertEquals("chrome", scheduler.acquire(Arrays.asList("chrome", "firefox")), "Tie should go to the less used browser.");
+        assertEquals("firefox", scheduler.acquire(Arrays.asList("chrome", "firefox")), "Remaining slot should be handed out.");
+    }
+
+    @Test
+    @DisplayName("Should queue while the Grid is saturated and continue once a slot frees up")
+    void queuesUntilSlotIsFree() throws Exception {
+        status = status(node("UP", slot("chrome", true)), node("DOWN", slot("chrome", false)));
+        GridScheduler scheduler = new GridScheduler(gridUrl, 50, Duration.ofSeconds(10));
+
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> scheduler.acquire(Collections.singletonList("chrome")));
+        Thread.sleep(300);
+        assertFalse(waiting.isDone(), "Session should wait while every UP slot is busy.");
+
+        status = status(node("UP", slot("chrome", false)));
+        assertEquals("chrome", waiting.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should fail after the queue timeout when no slot frees up")
+    void failsAfterQueueTimeout() {
+        status = status(node("UP", slot("chrome", true)));
+        GridScheduler scheduler = new GridScheduler(gridUrl, 50, Duration.ofMillis(300));
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> scheduler.acquire(Collections.singletonList("chrome")));
+        assertTrue(error.getMessage().contains("No free Grid slot"), "Unexpected message: " + error.getMessage());
+    }
+
+    private static String status(String... nodes) {
+        return "{\"value\": {\"ready\": true, \"nodes\": [" + String.join(",", nodes) + "]}}";
+    }
+
+    private static String node(String availability, String... slots) {
+        return "{\"availability\": \"" + availability + "\", \"slots\": [" + String.join(",", slots) + "]}";
+    }
+
+    private static String slot(String browser, boolean busy) {
+        return "{\"stereotype\": {\"browserName\": \"" + browser + "\"}, \"session\": " + (busy ? "{\"sessionId\": \"s1\"}" : "null") + "}";
+    }
+}
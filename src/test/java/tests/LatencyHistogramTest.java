@@ -0,0 +1,93 @@
+package tests;
+
+import core.LatencyHistogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LatencyHistogram bucketing, percentiles and merging. No browser needed.
+ */
+public class LatencyHistogramTest {
+
+    // Upper bound of the relative error: one sub-bucket out of 16 per power of two
+    private static final double MAX_RELATIVE_ERROR = 1.0 / 16;
+
+    @Test
+    @DisplayName("Should report percentiles within the bucket error, never below the true value")
+    void reportsPercentiles() {
+        LatencyHistogram histogram = histogramOf(1, 1_000);
+
+        assertEquals(1_000, histogram.getCount());
+        assertEquals(500.5, histogram.getMeanMicros(), 1e-9);
+        assertEquals(1_000, histogram.getMaxMicros());
+        assertPercentile(500, histogram, 50);
+        assertPercentile(950, histogram, 95);
+        assertPercentile(990, histogram, 99);
+        assertEquals(1_000, histogram.getValueAtPercentile(100), "p100 should be capped at the exact max.");
+    }
+
+    @Test
+    @DisplayName("Should keep values below 16 us exact and skew percentiles towards outliers")
+    void keepsSmallValuesExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(3));
+        }
+        histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(15));
+        histogram.recordNanos(TimeUnit.SECONDS.toNanos(2));
+
+        assertEquals(3, histogram.getValueAtPercentile(50));
+        assertEquals(3, histogram.getValueAtPercentile(98));
+        assertEquals(15, histogram.getValueAtPercentile(99));
+        assertPercentile(2_000_000, histogram, 99.5);
+        assertEquals(2_000_000, histogram.getMaxMicros());
+    }
+
+    @Test
+    @DisplayName("Should report zeros when empty and record negative durations as 0")
+    void handlesEmptyAndNegative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMeanMicros());
+
+        histogram.recordNanos(-5_000);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    @DisplayName("Should merge into the same percentiles as recording everything in one histogram")
+    void mergesHistograms() {
+        LatencyHistogram merged = histogramOf(1, 500);
+        LatencyHistogram upper = histogramOf(501, 1_000);
+        merged.add(upper);
+        merged.add(new LatencyHistogram()); // Adding an empty histogram changes nothing
+        LatencyHistogram whole = histogramOf(1, 1_000);
+
+        assertEquals(whole.getCount(), merged.getCount());
+        assertEquals(whole.getMeanMicros(), merged.getMeanMicros(), 1e-9);
+        assertEquals(whole.getMaxMicros(), merged.getMaxMicros());
+        for (double percentile : new double[]{1, 50, 90, 95, 99, 99.9, 100}) {
+            assertEquals(whole.getValueAtPercentile(percentile), merged.getValueAtPercentile(percentile), "p" + percentile);
+        }
+        assertEquals(500, upper.getCount(), "The added histogram should be left unchanged.");
+    }
+
+    private static LatencyHistogram histogramOf(int fromMicros, int toMicros) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = fromMicros; micros <= toMicros; micros++) {
+            histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+        return histogram;
+    }
+
+    private static void assertPercentile(long expectedMicros, LatencyHistogram histogram, double percentile) {
+        long actual = histogram.getValueAtPercentile(percentile);
+        assertTrue(actual >= expectedMicros && actual <= expectedMicros * (1 + MAX_RELATIVE_ERROR),
+                "p" + percentile + " = " + actual + " us, expected " + expectedMicros + " us within " + MAX_RELATIVE_ERROR * 100 + "%");
+    }
+}
@@ -0,0 +1,45 @@
+package tests;
+
+import core.SharedResources;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import pages.InventoryPage;
+import pages.LoginPage;
+import pages.Pages;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginTest extends BaseTest {
+
+    // A rejected login must answer well before the inventory's readiness timeout (10 s by default)
+    private static final long REJECTED_LOGIN_MAX_MILLIS = 5_000;
+
+    @Test
+    @DisplayName("Should stay on the login page and show an error for a locked out user")
+    @ResourceLock(value = SharedResources.LOCKED_OUT_USER, mode = ResourceAccessMode.READ)
+    void lockedOutUserIsRejected() {
+        LoginPage loginPage = Pages.get(LoginPage.class);
+        long start = System.nanoTime();
+        Optional<InventoryPage> inventoryPage = loginPage.attemptLogin("locked_out_user", "secret_sauce");
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(inventoryPage.isPresent(), "Locked out user reached the inventory.");
+        assertTrue(millis < REJECTED_LOGIN_MAX_MILLIS, "Rejected login took " + millis + " ms.");
+        assertTrue(loginPage.isLoginButtonDisplayed(), "Login form no longer displayed after a rejected login.");
+        assertTrue(loginPage.getErrorMessage().orElse("").contains("locked out"), "Locked out error message missing.");
+    }
+
+    @Test
+    @DisplayName("Should report the login error through loginAs for a wrong password")
+    @ResourceLock(value = SharedResources.STANDARD_USER, mode = ResourceAccessMode.READ)
+    void wrongPasswordShowsError() {
+        LoginPage loginPage = Pages.get(LoginPage.class);
+        loginPage.loginAs("standard_user", "wrong_password"); // Must not throw for a rejected login
+
+        assertTrue(loginPage.getErrorMessage().orElse("").contains("do not match"), "Wrong password error message missing.");
+    }
+}
@@ -0,0 +1,100 @@
+package tests;
+
+import core.PerformanceBaseline;
+import core.PerformanceBudget;
+import core.PropertiesFiles;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PerformanceBaseline limits, tolerance and update mode, on a temporary baseline file. No browser needed.
+ */
+public class PerformanceBaselineTest {
+
+    private static final String KEY = "SomePage.someTransition";
+
+    @Test
+    @DisplayName("Should allow the baseline plus tolerance, rounded up, and flag anything above")
+    void roundsTheToleranceUp(@TempDir Path dir) throws IOException {
+        // 10 + 25% = 12.5, rounded up to 13
+        PerformanceBaseline baseline = PerformanceBaseline.load(baselineFile(dir, KEY + ".wallMillis=10"), false);
+
+        assertTrue(baseline.check(KEY, budget("baselineOnly"), 13, 0, 0).isEmpty(), "13 should be within 10 + 25%.");
+        List<String> violations = baseline.check(KEY, budget("baselineOnly"), 14, 0, 0);
+        assertEquals(1, violations.size(), violations.toString());
+        assertTrue(violations.get(0).endsWith("exceeds baseline 10 + 25% (13)"), violations.get(0));
+    }
+
+    @Test
+    @DisplayName("Should check the absolute limit and the baseline independently")
+    void checksLimitAndBaseline(@TempDir Path dir) throws IOException {
+        PerformanceBaseline baseline = PerformanceBaseline.load(baselineFile(dir, KEY + ".wallMillis=50"), false);
+
+        assertEquals(1, baseline.check(KEY, budget("withLimits"), 80, 0, 0).size(), "Over baseline (63), within limit (100).");
+        List<String> both = baseline.check(KEY, budget("withLimits"), 120, 0, 0);
+        assertEquals(2, both.size(), both.toString());
+        assertTrue(both.get(0).endsWith("wallMillis = 120 exceeds the budget of 100"), both.get(0));
+        // No baseline for commands: only its absolute limit applies
+        List<String> commands = baseline.check(KEY, budget("withLimits"), 10, 21, 0);
+        assertEquals(1, commands.size(), commands.toString());
+        assertTrue(commands.get(0).contains("commands = 21 exceeds the budget of 20"), commands.get(0));
+        assertTrue(baseline.check(KEY, budget("withLimits"), 10, 20, 1_000_000).isEmpty(), "Unbudgeted, unrecorded metric.");
+    }
+
+    @Test
+    @DisplayName("Should skip baseline checks in update mode and record only measurements within the limits")
+    void updatesWithinLimits(@TempDir Path dir) throws IOException {
+        Path file = baselineFile(dir, KEY + ".wallMillis=10", "OtherPage.other.wallMillis=777");
+        PerformanceBaseline baseline = PerformanceBaseline.load(file, true);
+
+        assertTrue(baseline.check(KEY, budget("withLimits"), 90, 12, 40).isEmpty(), "Baseline should not apply while updating.");
+        Properties recorded = PropertiesFiles.read(file);
+        assertEquals("90", recorded.getProperty(KEY + ".wallMillis"));
+        assertEquals("12", recorded.getProperty(KEY + ".commands"));
+        assertEquals("40", recorded.getProperty(KEY + ".waitMillis"));
+        assertEquals("777", recorded.getProperty("OtherPage.other.wallMillis"), "Other keys should be kept.");
+
+        assertEquals(1, baseline.check(KEY, budget("withLimits"), 150, 12, 40).size(), "Absolute limits still apply.");
+        assertEquals("90", PropertiesFiles.read(file).getProperty(KEY + ".wallMillis"), "An over-budget run must not be recorded.");
+    }
+
+    @Test
+    @DisplayName("Should check absolute limits only when there is no baseline file")
+    void worksWithoutBaselineFile(@TempDir Path dir) {
+        PerformanceBaseline baseline = PerformanceBaseline.load(dir.resolve("missing.properties"), false);
+
+        assertTrue(baseline.check(KEY, budget("withLimits"), 100, 20, 0).isEmpty());
+        assertEquals(1, baseline.check(KEY, budget("withLimits"), 101, 20, 0).size());
+        assertFalse(Files.exists(dir.resolve("missing.properties")), "Checking should not create the file.");
+    }
+
+    @PerformanceBudget(tolerance = 0.25)
+    void baselineOnly() {
+    }
+
+    @PerformanceBudget(wallMillis = 100, commands = 20, tolerance = 0.25)
+    void withLimits() {
+    }
+
+    private static PerformanceBudget budget(String method) {
+        try {
+            return PerformanceBaselineTest.class.getDeclaredMethod(method).getAnnotation(PerformanceBudget.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Path baselineFile(Path dir, String... lines) throws IOException {
+        return Files.write(dir.resolve("performance-baseline.properties"), String.join("\n", lines).getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
@@ -0,0 +1,130 @@
+package tests;
+
+import flows.PurchaseFlowRow;
+import flows.PurchaseFlowRunner;
+import flows.PurchaseMatrix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PurchaseMatrix parsing (CSV and JSON) and the runner's handling of malformed rows. No browser needed.
+ */
+public class PurchaseMatrixTest {
+
+    private static final String CSV = String.join("\n",
+            " product , username,password,firstName,lastName,postalCode ", // Any column order, names trimmed
+            "Sauce Labs Backpack,standard_user,secret_sauce,Test,User,12345",
+            "",
+            "# Comment lines and blank lines are not rows",
+            "   ",
+            " Sauce Labs Onesie ,performance_glitch_user,secret_sauce,Perf,User,54321",
+            "Sauce Labs Bike Light,standard_user,secret_sauce,Test,User", // No postal code
+            "Sauce Labs Fleece Jacket,problem_user,secret_sauce,Prob,User,99999");
+
+    private static final String JSON = "[\n"
+            + "{\"username\": \"standard_user\", \"password\": \"secret_sauce\", \"product\": \"Sauce Labs Backpack\", \"firstName\": \"Test\", \"lastName\": \"User\", \"postalCode\": \"12345\"},\n"
+            + "{\"username\": \"performance_glitch_user\", \"password\": \"secret_sauce\", \"product\": \"Sauce Labs Onesie\", \"firstName\": \"Perf\", \"lastName\": \"User\", \"postalCode\": 54321},\n"
+            + "{\"username\": \"standard_user\", \"password\": \"secret_sauce\", \"product\": \"Sauce Labs Bike Light\", \"firstName\": \"Test\", \"lastName\": \"User\"},\n"
+            + "{\"username\": \"problem_user\", \"password\": \"secret_sauce\", \"product\": \"Sauce Labs Fleece Jacket\", \"firstName\": \"Prob\", \"lastName\": \"User\", \"postalCode\": \"99999\"}\n"
+            + "]";
+
+    @Test
+    @DisplayName("Should map CSV cells by header, skip blank and comment lines, and number rows consecutively")
+    void parsesCsv(@TempDir Path dir) throws IOException {
+        List<PurchaseFlowRow> rows = read(write(dir, "matrix.csv", CSV));
+
+        assertEquals(4, rows.size());
+        assertRow(rows.get(0), 1, "standard_user", "Sauce Labs Backpack", "Test", "12345");
+        assertRow(rows.get(1), 2, "performance_glitch_user", "Sauce Labs Onesie", "Perf", "54321");
+        assertRow(rows.get(3), 4, "problem_user", "Sauce Labs Fleece Jacket", "Prob", "99999");
+        assertEquals("secret_sauce", rows.get(0).getPassword());
+        assertEquals("User", rows.get(0).getLastName());
+    }
+
+    @Test
+    @DisplayName("Should return a row missing a column as malformed, keeping its number and the rows after it")
+    void keepsMalformedRows(@TempDir Path dir) throws IOException {
+        List<PurchaseFlowRow> rows = read(write(dir, "matrix.csv", CSV));
+
+        PurchaseFlowRow malformed = rows.get(2);
+        assertEquals(3, malformed.getRowNumber());
+        assertEquals("Purchase matrix row 3 is missing column 'postalCode'", malformed.getProblem());
+        assertNull(rows.get(0).getProblem());
+        assertEquals("row 3 (malformed)", malformed.toString());
+    }
+
+    @Test
+    @DisplayName("Should read the same rows from JSON as from the equivalent CSV")
+    void parsesJsonLikeCsv(@TempDir Path dir) throws IOException {
+        List<PurchaseFlowRow> csvRows = read(write(dir, "matrix.csv", CSV));
+        List<PurchaseFlowRow> jsonRows = read(write(dir, "matrix.json", JSON));
+
+        assertEquals(csvRows.size(), jsonRows.size());
+        for (int i = 0; i < csvRows.size(); i++) {
+            PurchaseFlowRow csv = csvRows.get(i);
+            PurchaseFlowRow json = jsonRows.get(i);
+            assertEquals(csv.toString(), json.toString());
+            assertEquals(csv.getProblem(), json.getProblem());
+            assertEquals(csv.getPassword(), json.getPassword());
+            assertEquals(csv.getFirstName(), json.getFirstName());
+            assertEquals(csv.getLastName(), json.getLastName());
+            assertEquals(csv.getPostalCode(), json.getPostalCode(), "Numbers in JSON should read like CSV text.");
+        }
+    }
+
+    @Test
+    @DisplayName("Should read the bundled matrices from the classpath")
+    void readsBundledMatrices() {
+        for (String matrix : new String[]{"data/purchase-matrix.csv", "data/purchase-matrix.json"}) {
+            try (Stream<PurchaseFlowRow> rows = PurchaseMatrix.open(matrix)) {
+                List<PurchaseFlowRow> parsed = rows.collect(Collectors.toList());
+                assertFalse(parsed.isEmpty(), matrix + " is empty.");
+                assertTrue(parsed.stream().allMatch(row -> row.getProblem() == null), matrix + " has malformed rows.");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should report a malformed row as a failed row instead of aborting the run")
+    void runnerFailsMalformedRow() {
+        PurchaseFlowRunner runner = new PurchaseFlowRunner("http://127.0.0.1:9", 1);
+
+        PurchaseFlowRunner.RunSummary summary = runner.run(Stream.of(
+                PurchaseFlowRow.malformed(1, "Purchase matrix row 1 is missing column 'product'"),
+                PurchaseFlowRow.malformed(2, "Purchase matrix row 2 is missing column 'username'")));
+
+        assertEquals(2, summary.getResults().size());
+        assertEquals(2, summary.getFailedCount());
+        assertTrue(summary.getResults().get(0).getError().contains("missing column 'product'"), summary.describeFailures());
+    }
+
+    private static Path write(Path dir, String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<PurchaseFlowRow> read(Path matrix) {
+        try (Stream<PurchaseFlowRow> rows = PurchaseMatrix.open(matrix.toString())) {
+            return rows.collect(Collectors.toList());
+        }
+    }
+
+    private static void assertRow(PurchaseFlowRow row, int rowNumber, String username, String product, String firstName, String postalCode) {
+        assertNull(row.getProblem(), row.getProblem());
+        assertEquals(rowNumber, row.getRowNumber());
+        assertEquals(username, row.getUsername());
+        assertEquals(product, row.getProduct());
+        assertEquals(firstName, row.getFirstName());
+        assertEquals(postalCode, row.getPostalCode());
+    }
+}
@@ -0,0 +1,114 @@
+package tests;
+
+import core.Shard;
+import core.ShardPlanner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ShardPlanner's longest-processing-time-first plan, its history file and Shard's row split. No browser needed.
+ */
+public class ShardPlannerTest {
+
+    @Test
+    @DisplayName("Should give each class to the lightest shard, longest first, whatever the input order")
+    void plansLongestFirst() {
+        Map<String, Long> history = new HashMap<>();
+        history.put("A", 100L);
+        history.put("B", 60L);
+        history.put("C", 50L);
+        history.put("D", 40L);
+
+        Map<String, Integer> plan = ShardPlanner.plan(Arrays.asList("A", "B", "C", "D"), history, 2);
+
+        // A -> 0 (100), B -> 1 (60), C -> 1 (110), D -> 0 (140)
+        assertEquals(Integer.valueOf(0), plan.get("A"));
+        assertEquals(Integer.valueOf(1), plan.get("B"));
+        assertEquals(Integer.valueOf(1), plan.get("C"));
+        assertEquals(Integer.valueOf(0), plan.get("D"));
+        assertEquals(plan, ShardPlanner.plan(Arrays.asList("D", "C", "B", "A"), history, 2), "Plan should not depend on the input order.");
+    }
+
+    @Test
+    @DisplayName("Should estimate classes without history at the mean of the known ones")
+    void estimatesUnknownClassesAtTheMean() {
+        Map<String, Long> history = new HashMap<>();
+        history.put("A", 100L);
+        history.put("B", 300L);
+        history.put("C", 250L);
+
+        Map<String, Integer> plan = ShardPlanner.plan(Arrays.asList("A", "B", "C", "Unknown"), history, 2);
+
+        // Unknown weighs the mean (217 ms): B -> 0 (300), C -> 1 (250), Unknown -> 1 (466), A -> 0 (400)
+        assertEquals(Integer.valueOf(0), plan.get("B"));
+        assertEquals(Integer.valueOf(1), plan.get("C"));
+        assertEquals(Integer.valueOf(1), plan.get("Unknown"));
+        assertEquals(Integer.valueOf(0), plan.get("A"));
+    }
+
+    @Test
+    @DisplayName("Should deal classes round-robin by name when there is no history")
+    void dealsByNameWithoutHistory() {
+        Map<String, Integer> plan = ShardPlanner.plan(Arrays.asList("D", "B", "A", "C"), Collections.emptyMap(), 2);
+
+        assertEquals(Integer.valueOf(0), plan.get("A"));
+        assertEquals(Integer.valueOf(1), plan.get("B"));
+        assertEquals(Integer.valueOf(0), plan.get("C"));
+        assertEquals(Integer.valueOf(1), plan.get("D"));
+    }
+
+    @Test
+    @DisplayName("Should read back the saved history, merged with what was already recorded")
+    void historyRoundTrip(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("history/shard-history.properties");
+        ShardPlanner.saveHistory(file, Collections.singletonMap("tests.OldTest", 1_000L));
+
+        Map<String, Long> latest = new HashMap<>();
+        latest.put("tests.OldTest", 1_500L);
+        latest.put("tests.NewTest", 2_000L);
+        ShardPlanner.saveHistory(file, latest);
+        Files.write(file, "tests.BrokenTest=soon\n".getBytes(StandardCharsets.ISO_8859_1), StandardOpenOption.APPEND);
+
+        Map<String, Long> loaded = ShardPlanner.loadHistory(file);
+        assertEquals(latest, loaded, "Latest durations should win and invalid entries be ignored.");
+        assertTrue(ShardPlanner.loadHistory(dir.resolve("missing.properties")).isEmpty(), "A missing history should read as empty.");
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            List<Path> leftovers = files.filter(path -> path.toString().endsWith(".tmp")).collect(Collectors.toList());
+            assertTrue(leftovers.isEmpty(), "Temporary files left behind: " + leftovers);
+        }
+    }
+
+    @Test
+    @DisplayName("Should give every data row to exactly one shard, round-robin")
+    void splitsRowsAcrossShards() {
+        int[] rowsPerShard = new int[3];
+        for (int row = 1; row <= 10; row++) {
+            int owners = 0;
+            for (int shard = 0; shard < 3; shard++) {
+                if (Shard.ownsRow(row, shard, 3)) {
+                    owners++;
+                    rowsPerShard[shard]++;
+                }
+            }
+            assertEquals(1, owners, "Row " + row + " should have exactly one owner.");
+        }
+        assertArrayEquals(new int[]{4, 3, 3}, rowsPerShard);
+        assertTrue(Shard.ownsRow(1, 0, 3) && Shard.ownsRow(2, 1, 3) && Shard.ownsRow(4, 0, 3));
+    }
+}
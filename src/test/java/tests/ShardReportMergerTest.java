@@ -0,0 +1,75 @@
+package tests;
+
+import core.ShardPlanner;
+import core.ShardReportMerger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ShardReportMerger on shard files written by hand into a temporary directory. No browser needed.
+ */
+public class ShardReportMergerTest {
+
+    @Test
+    @DisplayName("Should merge shard files, summing split classes, and record the durations")
+    void mergesShards(@TempDir Path dir) throws IOException {
+        Path history = dir.resolve("shard-history.properties");
+        ShardPlanner.saveHistory(history, Collections.singletonMap("tests.NotRunTest", 700L));
+        shardFile(dir, 0, 4_000, "\"tests.LoginTest\": 1000, \"tests.MatrixTest\": 3000", result("PASSED"), result("PASSED"));
+        shardFile(dir, 1, 2_000, "\"tests.MatrixTest\": 2000", result("SKIPPED"));
+
+        Map<String, Object> merged = ShardReportMerger.mergeAndRecord(dir, history);
+
+        assertEquals(2, merged.get("shards"));
+        assertEquals(3L, merged.get("tests"));
+        assertEquals(0L, merged.get("failed"));
+        assertEquals(1L, merged.get("skipped"));
+        assertEquals(2.0, (Double) merged.get("imbalance"), 1e-9);
+        assertTrue(Files.isRegularFile(dir.resolve("merged-report.json")), "Merged report not written.");
+        Map<String, Long> recorded = ShardPlanner.loadHistory(history);
+        assertEquals(Long.valueOf(5_000), recorded.get("tests.MatrixTest"), "A split class should sum its shards.");
+        assertEquals(Long.valueOf(1_000), recorded.get("tests.LoginTest"));
+        assertEquals(Long.valueOf(700), recorded.get("tests.NotRunTest"), "Classes that did not run should keep their duration.");
+    }
+
+    @Test
+    @DisplayName("Should fail the merge when a test failed or aborted, after writing the report")
+    void failsOnFailedTests(@TempDir Path dir) throws IOException {
+        shardFile(dir, 0, 1_000, "\"tests.LoginTest\": 1000", result("PASSED"), result("FAILED"));
+        shardFile(dir, 1, 1_000, "\"tests.CartTest\": 1000", result("ABORTED"));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> ShardReportMerger.mergeAndRecord(dir, dir.resolve("shard-history.properties")));
+        assertTrue(error.getMessage().startsWith("2 test(s) failed"), "Unexpected message: " + error.getMessage());
+        assertTrue(Files.isRegularFile(dir.resolve("merged-report.json")), "Report should be written for the investigation.");
+    }
+
+    @Test
+    @DisplayName("Should fail the merge when there are no shard files")
+    void failsWithoutShardFiles(@TempDir Path dir) {
+        assertThrows(IllegalStateException.class, () -> ShardReportMerger.mergeAndRecord(dir, dir.resolve("history.properties")));
+        assertThrows(IllegalStateException.class,
+                () -> ShardReportMerger.mergeAndRecord(dir.resolve("missing"), dir.resolve("history.properties")));
+        assertFalse(Files.exists(dir.resolve("history.properties")), "No history should be written without shard files.");
+    }
+
+    private static void shardFile(Path dir, int index, long wallMillis, String classMillis, String... results) throws IOException {
+        String json = "{\"shardIndex\": " + index + ", \"shardCount\": 2, \"wallMillis\": " + wallMillis
+                + ", \"classMillis\": {" + classMillis + "}, \"results\": [" + String.join(",", results) + "]}";
+        Files.write(dir.resolve("shard-" + index + "-of-2.json"), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String result(String status) {
+        return "{\"test\": \"some test\", \"status\": \"" + status + "\", \"millis\": 10}";
+    }
+}
@@ -1,7 +1,12 @@
 package tests;
 
+import core.PerformanceBudget;
+import core.SharedResources;
+import core.StateSeeder;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import pages.*; // Import needed Page Objects
 
 import static org.junit.jupiter.api.Assertions.*; // Keep static import for assertions
@@ -18,6 +23,9 @@ public class SuccessfulPurchaseTest extends BaseTest { // Inherit from BaseTest
 
     @Test
     @DisplayName("Should complete a purchase successfully with standard user")
+    // Generous absolute ceilings. Tighter limits apply once a baseline is recorded with -Dbudget.updateBaseline=true
+    @PerformanceBudget(wallMillis = 30_000, commands = 250)
+    @ResourceLock(value = SharedResources.STANDARD_USER, mode = ResourceAccessMode.READ) // Cart state is per session, so shared use is safe
     void successfulPurchaseFlow() {
         String targetProduct = "Sauce Labs Backpack";
         String firstName = "Test";
@@ -30,7 +38,7 @@ public class SuccessfulPurchaseTest extends BaseTest { // Inherit from BaseTest
         // 1. Login (Navigation to login page is handled by BaseTest.setUp)
         loginPage = new LoginPage();
         assertTrue(loginPage.isLoginButtonDisplayed(), "Login page initial load verification failed.");
-        inventoryPage = loginPage.loginAs("standard_user", "secret_sauce");
+        inventoryPage = loginPage.loginAsCached("standard_user", "secret_sauce"); // UI login only on first use
 
         // 2. Verify Inventory Page & Add Product
         assertTrue(inventoryPage.isPageDisplayed(), "Inventory page verification failed after login.");
@@ -56,4 +64,24 @@ public class SuccessfulPurchaseTest extends BaseTest { // Inherit from BaseTest
         assertTrue(checkoutCompletePage.isPageDisplayed(), "Checkout Complete page verification failed.");
         assertEquals(expectedCompletionMessage, checkoutCompletePage.getCompletionHeader(), "Final completion message mismatch.");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should complete checkout from a seeded cart without the login and inventory pages")
+    @ResourceLock(value = SharedResources.STANDARD_USER, mode = ResourceAccessMode.READ)
+    void checkoutFromSeededCart() {
+        String targetProduct = "Sauce Labs Bike Light";
+
+        // 1. Seed login + cart in the browser and jump straight to the checkout form
+        StateSeeder.forUser("standard_user").withProducts(targetProduct).seed();
+        checkoutStepOnePage = CheckoutStepOnePage.open();
+        assertTrue(checkoutStepOnePage.isPageDisplayed(), "Checkout Step One page verification failed.");
+
+        // 2. Overview lists the seeded product
+        checkoutStepTwoPage = checkoutStepOnePage.fillShippingInfoAndContinue("Test", "User", "12345");
+        assertTrue(checkoutStepTwoPage.isProductDisplayed(targetProduct), "Seeded product missing in checkout overview.");
+
+        // 3. Finish
+        checkoutCompletePage = checkoutStepTwoPage.clickFinish();
+        assertEquals("Thank you for your order!", checkoutCompletePage.getCompletionHeader(), "Final completion message mismatch.");
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Local stand-in for https://www.saucedemo.com/ (served by core.LocalStorefront).
+ * Mirrors the pages, element ids/classes and browser state the page objects rely on:
+ *  - login sets the "session-username" cookie, protected pages bounce back to the login form without it
+ *  - the cart lives in localStorage under "cart-contents" as a JSON array of product ids
+ */
+(function () {
+    'use strict';
+
+    var PASSWORD = 'secret_sauce';
+    var USERS = ['standard_user', 'locked_out_user', 'problem_user', 'performance_glitch_user', 'error_user', 'visual_user'];
+    var CART_KEY = 'cart-contents';
+    var SESSION_COOKIE = 'session-username';
+    var TAX_RATE = 0.08;
+
+    // Same ids, names and prices as the real store, listed in its default (name A-Z) order
+    var PRODUCTS = [
+        {id: 4, name: 'Sauce Labs Backpack', price: 29.99,
+            desc: 'carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection.'},
+        {id: 0, name: 'Sauce Labs Bike Light', price: 9.99,
+            desc: "A red light isn't the desired state in testing but it sure helps when riding your bike at night. Water-resistant with 3 lighting modes, 1 AAA battery included."},
+        {id: 1, name: 'Sauce Labs Bolt T-Shirt', price: 15.99,
+            desc: 'Get your testing superhero on with the Sauce Labs bolt T-shirt. From American Apparel, 100% ringspun combed cotton, heather gray with red bolt.'},
+        {id: 5, name: 'Sauce Labs Fleece Jacket', price: 49.99,
+            desc: "It's not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office."},
+        {id: 2, name: 'Sauce Labs Onesie', price: 7.99,
+            desc: "Rib snap infant onesie for the junior automation engineer in development. Reinforced 3-snap bottom closure, two-needle hemmed sleeved and bottom won't unravel."},
+        {id: 3, name: 'Test.allTheThings() T-Shirt (Red)', price: 15.99,
+            desc: 'This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests. Super-soft and comfy ringspun combed cotton.'}
+    ];
+
+    // --- State helpers ---
+
+    function getCookie(name) {
+        var parts = document.cookie ? document.cookie.split('; ') : [];
+        for (var i = 0; i < parts.length; i++) {
+            var eq = parts[i].indexOf('=');
+            if (parts[i].substring(0, eq) === name) {
+                return decodeURIComponent(parts[i].substring(eq + 1));
+            }
+        }
+        return null;
+    }
+
+    function setSession(username) {
+        var expires = new Date(Date.now() + 10 * 60 * 1000).toUTCString(); // 10 minutes, like the real store
+        document.cookie = SESSION_COOKIE + '=' + encodeURIComponent(username) + '; expires=' + expires + '; path=/';
+    }
+
+    function clearSession() {
+        document.cookie = SESSION_COOKIE + '=; expires=Thu, 01 Jan 1970 00:00:00 GMT; path=/';
+    }
+
+    function getCart() {
+        try {
+            var cart = JSON.parse(window.localStorage.getItem(CART_KEY));
+            return Array.isArray(cart) ? cart : [];
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function setCart(cart) {
+        if (cart.length) {
+            window.localStorage.setItem(CART_KEY, JSON.stringify(cart));
+        } else {
+            window.localStorage.removeItem(CART_KEY);
+        }
+    }
+
+    function productById(id) {
+        for (var i = 0; i < PRODUCTS.length; i++) {
+            if (PRODUCTS[i].id === id) {
+                return PRODUCTS[i];
+            }
+        }
+        return null;
+    }
+
+    function slug(name) {
+        return name.toLowerCase().replace(/[^a-z0-9]+/g, '-').replace(/^-|-$/g, '');
+    }
+
+    function money(value) {
+        return '$' + value.toFixed(2);
+    }
+
+    // --- DOM helpers ---
+
+    function el(tag, className, text) {
+        var node = document.createElement(tag);
+        if (className) {
+            node.className = className;
+        }
+        if (text !== undefined) {
+            node.textContent = text;
+        }
+        return node;
+    }
+
+    function showError(message) {
+        var container = document.querySelector('div.error-message-container');
+        container.className = 'error-message-container error';
+        container.innerHTML = '';
+        var h3 = el('h3', null, message);
+        h3.setAttribute('data-test', 'error');
+        container.appendChild(h3);
+    }
+
+    function renderBadge() {
+        var link = document.querySelector('a.shopping_cart_link');
+        if (!link) {
+            return;
+        }
+        var badge = link.querySelector('span.shopping_cart_badge');
+        var count = getCart().length;
+        if (count && !badge) {
+            badge = el('span', 'shopping_cart_badge');
+            link.appendChild(badge);
+        }
+        if (badge) {
+            if (count) {
+                badge.textContent = String(count);
+            } else {
+                link.removeChild(badge);
+            }
+        }
+    }
+
+    function cartButton(product) {
+        var inCart = getCart().indexOf(product.id) >= 0;
+        var button = el('button', 'btn btn_small btn_inventory ' + (inCart ? 'btn_secondary' : 'btn_primary'),
+            inCart ? 'Remove' : 'Add to cart');
+        button.id = (inCart ? 'remove-' : 'add-to-cart-') + slug(product.name);
+        button.addEventListener('click', function () {
+            var cart = getCart();
+            var index = cart.indexOf(product.id);
+            if (index >= 0) {
+                cart.splice(index, 1);
+            } else {
+                cart.push(product.id);
+            }
+            setCart(cart);
+            button.parentNode.replaceChild(cartButton(product), button);
+            renderBadge();
+        });
+        return button;
+    }
+
+    function cartRow(product, withButton) {
+        var row = el('div', 'cart_item');
+        row.appendChild(el('div', 'cart_quantity', '1'));
+        var label = el('div', 'cart_item_label');
+        var link = el('a');
+        link.href = '#';
+        link.appendChild(el('div', 'inventory_item_name', product.name));
+        label.appendChild(link);
+        label.appendChild(el('div', 'inventory_item_desc', product.desc));
+        var pricebar = el('div', 'item_pricebar');
+        pricebar.appendChild(el('div', 'inventory_item_price', money(product.price)));
+        if (withButton) {
+            var remove = el('button', 'btn btn_secondary btn_small cart_button', 'Remove');
+            remove.id = 'remove-' + slug(product.name);
+            remove.addEventListener('click', function () {
+                var cart = getCart();
+                cart.splice(cart.indexOf(product.id), 1);
+                setCart(cart);
+                row.parentNode.removeChild(row);
+                renderBadge();
+            });
+            pricebar.appendChild(remove);
+        }
+        label.appendChild(pricebar);
+        row.appendChild(label);
+        return row;
+    }
+
+    function go(path) {
+        window.location.href = path;
+    }
+
+    function onClick(id, handler) {
+        document.getElementById(id).addEventListener('click', function (event) {
+            event.preventDefault();
+            handler();
+        });
+    }
+
+    // --- Pages ---
+
+    var pages = {
+        login: function () {
+            var params = new URLSearchParams(window.location.search);
+            if (params.get('denied')) {
+                showError("Epic sadface: You can only access '" + params.get('denied') + "' when you are logged in.");
+            }
+            document.getElementById('login_button_container').querySelector('form').addEventListener('submit', function (event) {
+                event.preventDefault();
+                var username = document.getElementById('user-name').value;
+                var password = document.getElementById('password').value;
+                if (!username) {
+                    showError('Epic sadface: Username is required');
+                } else if (!password) {
+                    showError('Epic sadface: Password is required');
+                } else if (USERS.indexOf(username) < 0 || password !== PASSWORD) {
+                    showError('Epic sadface: Username and password do not match any user in this service');
+                } else if (username === 'locked_out_user') {
+                    showError('Epic sadface: Sorry, this user has been locked out.');
+                } else {
+                    setSession(username);
+                    go('inventory.html');
+                }
+            });
+        },
+
+        inventory: function () {
+            var list = document.querySelector('div.inventory_list');
+            PRODUCTS.forEach(function (product) {
+                var item = el('div', 'inventory_item');
+                var description = el('div', 'inventory_item_description');
+                var label = el('div', 'inventory_item_label');
+                var link = el('a');
+                link.href = '#';
+                link.appendChild(el('div', 'inventory_item_name', product.name));
+                label.appendChild(link);
+                label.appendChild(el('div', 'inventory_item_desc', product.desc));
+                description.appendChild(label);
+                var pricebar = el('div', 'pricebar');
+                pricebar.appendChild(el('div', 'inventory_item_price', money(product.price)));
+                pricebar.appendChild(cartButton(product));
+                description.appendChild(pricebar);
+                item.appendChild(description);
+                list.appendChild(item);
+            });
+        },
+
+        cart: function () {
+            var list = document.querySelector('div.cart_list');
+            getCart().forEach(function (id) {
+                var product = productById(id);
+                if (product) {
+                    list.appendChild(cartRow(product, true));
+                }
+            });
+            onClick('continue-shopping', function () { go('inventory.html'); });
+            onClick('checkout', function () { go('checkout-step-one.html'); });
+        },
+
+        'checkout-step-one': function () {
+            document.getElementById('checkout_info_container').querySelector('form').addEventListener('submit', function (event) {
+                event.preventDefault();
+                if (!document.getElementById('first-name').value) {
+                    showError('Error: First Name is required');
+                } else if (!document.getElementById('last-name').value) {
+                    showError('Error: Last Name is required');
+                } else if (!document.getElementById('postal-code').value) {
+                    showError('Error: Postal Code is required');
+                } else {
+                    go('checkout-step-two.html');
+                }
+            });
+            onClick('cancel', function () { go('cart.html'); });
+        },
+
+        'checkout-step-two': function () {
+            var list = document.querySelector('div.cart_list');
+            var total = 0;
+            getCart().forEach(function (id) {
+                var product = productById(id);
+                if (product) {
+                    total += product.price;
+                    list.appendChild(cartRow(product, false));
+                }
+            });
+            var tax = Math.round(total * TAX_RATE * 100) / 100;
+            document.querySelector('div.summary_subtotal_label').textContent = 'Item total: ' + money(total);
+            document.querySelector('div.summary_tax_label').textContent = 'Tax: ' + money(tax);
+            document.querySelector('div.summary_total_label').textContent = 'Total: ' + money(total + tax);
+            onClick('finish', function () {
+                setCart([]);
+                go('checkout-complete.html');
+            });
+            onClick('cancel', function () { go('inventory.html'); });
+        },
+
+        'checkout-complete': function () {
+            onClick('back-to-products', function () { go('inventory.html'); });
+        }
+    };
+
+    // --- Bootstrap ---
+
+    var page = document.body.getAttribute('data-page');
+    if (page !== 'login' && !getCookie(SESSION_COOKIE)) {
+        go('./?denied=' + encodeURIComponent(window.location.pathname));
+        return;
+    }
+    if (document.getElementById('logout_sidebar_link')) {
+        onClick('logout_sidebar_link', function () {
+            clearSession();
+            go('./');
+        });
+    }
+    renderBadge();
+    pages[page]();
+})();